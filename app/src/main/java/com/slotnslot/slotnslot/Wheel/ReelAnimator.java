@@ -0,0 +1,179 @@
+package com.slotnslot.slotnslot.Wheel;
+
+import android.view.Choreographer;
+
+import java.util.concurrent.TimeUnit;
+
+// moves every reel from one Choreographer frame callback, which is only posted while a reel moves.
+// a reel's position, in items, is a function of the frame time alone: it spins at a constant speed,
+// decelerates onto the landing item over a fixed time and settles back from a small overshoot.
+// a stop that takes effect at t is over at t + STOP_DURATION no matter which frames were dropped.
+public class ReelAnimator implements Choreographer.FrameCallback {
+    public interface Listener {
+        // positions changed, redraw
+        void onFrame();
+
+        void onReelStopped(int reel);
+    }
+
+    public static final float SPIN_ITEMS_PER_SECOND = 28f;
+    public static final long DECELERATE_DURATION = TimeUnit.MILLISECONDS.toNanos(900);
+    public static final long LAND_DURATION = TimeUnit.MILLISECONDS.toNanos(150);
+    public static final long STOP_DURATION = DECELERATE_DURATION + LAND_DURATION;
+
+    private static final double SPIN_SPEED = SPIN_ITEMS_PER_SECOND / (double) TimeUnit.SECONDS.toNanos(1); // items per ns
+    // the deceleration only slows down while it covers between a third and two thirds of what a full speed
+    // spin would in the same time, which leaves room for up to 8 symbols of choice in the landing item
+    private static final double MIN_STOP_ITEMS = SPIN_SPEED * DECELERATE_DURATION / 3;
+    private static final double OVERSHOOT = 0.15;
+
+    private enum Phase {
+        IDLE, SPIN, DECELERATE, LAND
+    }
+
+    private static class Reel {
+        private Phase phase = Phase.IDLE;
+        private double position;
+        private double spinFrom;
+        private long spinAt;
+        private long stopAt = Long.MAX_VALUE;
+        private double stopFrom;
+        private double target;
+    }
+
+    private final Choreographer choreographer = Choreographer.getInstance();
+    private final Listener listener;
+    private final int itemCount;
+    private final int landingItem;
+    private final Reel[] reels;
+    private boolean posted;
+
+    public ReelAnimator(int reelCount, int itemCount, int landingItem, Listener listener) {
+        this.listener = listener;
+        this.itemCount = itemCount;
+        this.landingItem = landingItem;
+        reels = new Reel[reelCount];
+        for (int i = 0; i < reelCount; i++) {
+            reels[i] = new Reel();
+            reels[i].position = landingItem;
+        }
+    }
+
+    // in items, increasing as the strip moves up
+    public double getPosition(int reel) {
+        return reels[reel].position;
+    }
+
+    public boolean isRunning(int reel) {
+        return reels[reel].phase != Phase.IDLE;
+    }
+
+    public void start(int index, long atNanos) {
+        Reel reel = reels[index];
+        if (reel.phase == Phase.SPIN && reel.stopAt == Long.MAX_VALUE) {
+            return;
+        }
+        reel.phase = Phase.SPIN;
+        reel.spinFrom = reel.position;
+        reel.spinAt = atNanos;
+        reel.stopAt = Long.MAX_VALUE;
+        postFrame();
+    }
+
+    // the landing item is fixed here, so the reel stops at exactly atNanos + STOP_DURATION
+    public void stop(int index, long atNanos) {
+        Reel reel = reels[index];
+        if (reel.phase != Phase.SPIN || reel.stopAt != Long.MAX_VALUE) {
+            return;
+        }
+        reel.stopAt = Math.max(atNanos, reel.spinAt);
+        reel.stopFrom = spinPosition(reel, reel.stopAt);
+        double earliest = reel.stopFrom + MIN_STOP_ITEMS;
+        double turns = Math.ceil((earliest - landingItem) / itemCount);
+        reel.target = landingItem + turns * itemCount;
+    }
+
+    // every reel with a stop requested comes to rest now
+    public void land() {
+        for (int i = 0; i < reels.length; i++) {
+            Reel reel = reels[i];
+            if (reel.phase != Phase.IDLE && reel.stopAt != Long.MAX_VALUE) {
+                reel.phase = Phase.IDLE;
+                reel.position = landingItem;
+                reel.stopAt = Long.MAX_VALUE;
+                listener.onReelStopped(i);
+            }
+        }
+        listener.onFrame();
+    }
+
+    // drops the callback and leaves every reel where it is
+    public void cancel() {
+        choreographer.removeFrameCallback(this);
+        posted = false;
+        for (Reel reel : reels) {
+            reel.phase = Phase.IDLE;
+            reel.stopAt = Long.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        posted = false;
+        boolean running = false;
+        for (int i = 0; i < reels.length; i++) {
+            Reel reel = reels[i];
+            if (reel.phase == Phase.IDLE) {
+                continue;
+            }
+            update(reel, frameTimeNanos);
+            if (reel.phase == Phase.IDLE) {
+                listener.onReelStopped(i);
+            } else {
+                running = true;
+            }
+        }
+        listener.onFrame();
+        if (running) {
+            postFrame();
+        }
+    }
+
+    private void update(Reel reel, long now) {
+        if (now < reel.stopAt) {
+            reel.phase = Phase.SPIN;
+            reel.position = spinPosition(reel, now);
+            return;
+        }
+        long elapsed = now - reel.stopAt;
+        if (elapsed < DECELERATE_DURATION) {
+            reel.phase = Phase.DECELERATE;
+            reel.position = reel.stopFrom + decelerate((double) elapsed / DECELERATE_DURATION, reel.target + OVERSHOOT - reel.stopFrom);
+        } else if (elapsed < STOP_DURATION) {
+            reel.phase = Phase.LAND;
+            double u = (double) (elapsed - DECELERATE_DURATION) / LAND_DURATION;
+            reel.position = reel.target + OVERSHOOT * (1 - u * u * (3 - 2 * u));
+        } else {
+            reel.phase = Phase.IDLE;
+            reel.position = landingItem;
+            reel.stopAt = Long.MAX_VALUE;
+        }
+    }
+
+    private static double spinPosition(Reel reel, long now) {
+        return now <= reel.spinAt ? reel.spinFrom : reel.spinFrom + SPIN_SPEED * (now - reel.spinAt);
+    }
+
+    // cubic from full spin speed at u = 0 to rest at distance at u = 1
+    private static double decelerate(double u, double distance) {
+        double spin = SPIN_SPEED * DECELERATE_DURATION;
+        return spin * u * (1 - u) * (1 - u) + distance * u * u * (3 - 2 * u);
+    }
+
+    private void postFrame() {
+        if (!posted) {
+            posted = true;
+            choreographer.postFrameCallback(this);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.slotnslot.slotnslot.Wheel;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.util.AttributeSet;
+import android.view.View;
+
+import com.slotnslot.slotnslot.Wheel.adapters.SlotAdapter;
+import com.slotnslot.slotnslot.Wheel.adapters.SymbolAtlas;
+import com.slotnslot.slotnslot.utils.Constants;
+
+import java.util.List;
+
+// all five reels in one view. each reel is a cyclic strip of the adapter's symbols drawn at its own position
+// from the shared symbol atlas, so a spin frame is one draw pass with no child views to add, recycle or lay out.
+// the positions come from one ReelAnimator for every reel.
+public class ReelSurfaceView extends View implements ReelAnimator.Listener {
+    public static final int REELS = 5;
+    public static final int ROWS = 3;
+
+    // the item shown in the middle row once a reel lands, rows show items 0, 1, 2
+    private static final int LANDING_ITEM = 1;
+
+    private final SlotAdapter[] adapters = new SlotAdapter[REELS];
+    private final ReelAnimator animator;
+    private final SymbolAtlas atlas = SymbolAtlas.get();
+    private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private final Rect src = new Rect();
+    private final int[] srcBounds = new int[4];
+    private final RectF dst = new RectF();
+
+    public ReelSurfaceView(Context context) {
+        this(context, null);
+    }
+
+    public ReelSurfaceView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        animator = new ReelAnimator(REELS, Constants.items.length, LANDING_ITEM, this);
+    }
+
+    public void setAdapters(List<SlotAdapter> adapters) {
+        for (int i = 0; i < REELS; i++) {
+            this.adapters[i] = adapters.get(i);
+        }
+        invalidate();
+    }
+
+    public void startScrolling(int reel) {
+        animator.start(reel, System.nanoTime());
+    }
+
+    // the reel lands ReelAnimator.STOP_DURATION from now
+    public void stopScrolling(int reel) {
+        animator.stop(reel, System.nanoTime());
+    }
+
+    // skips what is left of the stopping reels' animation
+    public void land() {
+        animator.land();
+    }
+
+    public int getItemHeight() {
+        return getHeight() / ROWS;
+    }
+
+    public float getReelCenterX(int reel) {
+        return getX() + getWidth() * (reel + 0.5f) / REELS;
+    }
+
+    public float getRowCenterY(int row) {
+        return getY() + getItemHeight() * (row + 0.5f);
+    }
+
+    @Override
+    public void onFrame() {
+        invalidate();
+    }
+
+    @Override
+    public void onReelStopped(int reel) {
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        setMeasuredDimension(width, resolveSize(atlas.getCellHeight() * ROWS, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        animator.cancel();
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        int itemHeight = getItemHeight();
+        if (itemHeight == 0) {
+            return;
+        }
+        float reelWidth = (float) getWidth() / REELS;
+        for (int i = 0; i < REELS; i++) {
+            SlotAdapter adapter = adapters[i];
+            if (adapter == null) {
+                continue;
+            }
+            int count = adapter.getItemsCount();
+            double position = animator.getPosition(i);
+            long first = (long) Math.floor(position);
+            float scrolled = (float) (position - first) * itemHeight;
+            float left = reelWidth * i;
+            // the row below is partly in view while the strip is between items
+            for (int row = 0; row <= ROWS; row++) {
+                float top = row * itemHeight - scrolled;
+                if (top >= getHeight()) {
+                    continue;
+                }
+                int item = (int) (((first - LANDING_ITEM + row) % count + count) % count);
+                adapter.getSourceRect(item, srcBounds);
+                src.set(srcBounds[0], srcBounds[1], srcBounds[2], srcBounds[3]);
+                dst.set(left, top, left + reelWidth, top + itemHeight);
+                canvas.drawBitmap(atlas.getBitmap(), src, dst, paint);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.slotnslot.slotnslot.Wheel;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// the reel events of a spin on one timer. events run on the timer's thread in time order, ties in the order
+// they were scheduled, and only one task is ever posted: the one for the earliest pending event.
+public class ReelTimeline {
+    public interface Timer {
+        long now(); // ms
+
+        void post(Runnable task, long delayMillis);
+
+        void remove(Runnable task);
+    }
+
+    public static class Event {
+        private final long time;
+        private final String name;
+        private final Runnable action;
+
+        Event(long time, String name, Runnable action) {
+            this.time = time;
+            this.name = name;
+            this.action = action;
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private final Timer timer;
+    private final List<Event> events = new ArrayList<>();
+    private final Runnable tick = this::runDue;
+    private long postedFor = Long.MAX_VALUE;
+
+    // runs on the main thread
+    public ReelTimeline() {
+        this(mainThreadTimer());
+    }
+
+    public ReelTimeline(Timer timer) {
+        this.timer = timer;
+    }
+
+    // safe from any thread
+    public void schedule(long delayMillis, String name, Runnable action) {
+        if (delayMillis < 0) {
+            throw new IllegalArgumentException("delay must not be negative : " + delayMillis);
+        }
+        synchronized (events) {
+            Event event = new Event(timer.now() + delayMillis, name, action);
+            int i = events.size();
+            while (i > 0 && events.get(i - 1).time > event.time) {
+                i--;
+            }
+            events.add(i, event);
+            postNext();
+        }
+    }
+
+    // pending events, earliest first
+    public List<Event> getSchedule() {
+        synchronized (events) {
+            return Collections.unmodifiableList(new ArrayList<>(events));
+        }
+    }
+
+    public boolean isIdle() {
+        synchronized (events) {
+            return events.isEmpty();
+        }
+    }
+
+    // drops every pending event
+    public void cancel() {
+        synchronized (events) {
+            events.clear();
+            timer.remove(tick);
+            postedFor = Long.MAX_VALUE;
+        }
+    }
+
+    // runs every pending event now, in order
+    public void fastForward() {
+        run(Long.MAX_VALUE);
+    }
+
+    private void runDue() {
+        synchronized (events) {
+            postedFor = Long.MAX_VALUE;
+        }
+        run(timer.now());
+    }
+
+    // an event may schedule more, those run in this pass too when they are due by then
+    private void run(long until) {
+        while (true) {
+            Event event;
+            synchronized (events) {
+                if (events.isEmpty() || events.get(0).time > until) {
+                    postNext();
+                    return;
+                }
+                event = events.remove(0);
+            }
+            event.action.run();
+        }
+    }
+
+    private void postNext() {
+        if (events.isEmpty()) {
+            timer.remove(tick);
+            postedFor = Long.MAX_VALUE;
+            return;
+        }
+        long next = events.get(0).time;
+        if (next >= postedFor) {
+            return;
+        }
+        timer.remove(tick);
+        timer.post(tick, Math.max(0, next - timer.now()));
+        postedFor = next;
+    }
+
+    private static Timer mainThreadTimer() {
+        Handler handler = new Handler(Looper.getMainLooper());
+        return new Timer() {
+            @Override
+            public long now() {
+                return SystemClock.uptimeMillis();
+            }
+
+            @Override
+            public void post(Runnable task, long delayMillis) {
+                handler.postDelayed(task, delayMillis);
+            }
+
+            @Override
+            public void remove(Runnable task) {
+                handler.removeCallbacks(task);
+            }
+        };
+    }
+}
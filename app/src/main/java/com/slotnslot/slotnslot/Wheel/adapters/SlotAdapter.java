@@ -4,6 +4,7 @@ import android.app.Activity;
 import android.content.res.Resources;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.graphics.drawable.Drawable;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewGroup.LayoutParams;
@@ -11,67 +12,57 @@ import android.widget.ImageView;
 
 import com.slotnslot.slotnslot.MainApplication;
 import com.slotnslot.slotnslot.utils.Constants;
-import com.slotnslot.slotnslot.utils.SlotUtil;
 
-import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class SlotAdapter extends AbstractWheelAdapter {
-    private ArrayList<SoftReference<Bitmap>> mImages;
-    private int width;
-    private int height;
-    private int IMAGE_WIDTH;
-    private int IMAGE_HEIGHT;
+    // one per symbol, all drawing from the shared atlas
+    private final Drawable[] symbols;
     private final LayoutParams params;
+    private final SymbolStrip strip;
     private Integer[] itemIndexs = {0, 1, 2};
 
-    @SuppressWarnings("deprecation")
     public SlotAdapter() {
-        width = SlotUtil.convertDpToPixel(327.1f, MainApplication.getContext());
-        height = SlotUtil.convertDpToPixel(194.8f, MainApplication.getContext());
-        IMAGE_WIDTH = width / 5;
-        IMAGE_HEIGHT = height / 3;
-        params = new LayoutParams(IMAGE_WIDTH, IMAGE_HEIGHT);
-        mImages = new ArrayList<SoftReference<Bitmap>>(Constants.items.length);
-        for (int id : Constants.items) {
-            mImages.add(new SoftReference<Bitmap>(loadImage(id)));
+        SymbolAtlas atlas = SymbolAtlas.get();
+        params = new LayoutParams(atlas.getCellWidth(), atlas.getCellHeight());
+        strip = new SymbolStrip(Constants.items.length, atlas.getCellWidth(), atlas.getCellHeight());
+        symbols = new Drawable[Constants.items.length];
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = atlas.newDrawable(i);
         }
     }
 
-    private Bitmap loadImage(int id) {
-        Bitmap bitmap = decodeSampledBitmapFromResource(MainApplication.getContext().getResources(), id, 90, 90);
-        return bitmap;
-    }
-
     @Override
     public int getItemsCount() {
         return Constants.items.length;
     }
 
     @Override
-    public synchronized View getItem(int index, View convertView, ViewGroup parent) {
+    public View getItem(int index, View convertView, ViewGroup parent) {
         ImageView img;
         if (convertView != null) {
             img = (ImageView) convertView;
         } else {
             img = new ImageView(MainApplication.getContext());
+            img.setLayoutParams(params);
         }
-        img.setLayoutParams(params);
-        int sidePadding = SlotUtil.convertDpToPixel(10f, MainApplication.getContext());
-        int topBottomPadding = SlotUtil.convertDpToPixel(8.1f, MainApplication.getContext());
-        img.setPadding(sidePadding, topBottomPadding, sidePadding, topBottomPadding);
-        SoftReference<Bitmap> bitmapRef = mImages.get(getImageIndex(index));
-        Bitmap bitmap = bitmapRef.get();
-        if (bitmap == null) {
-            bitmap = loadImage(Constants.items[getImageIndex(index)]);
-            mImages.set(getImageIndex(index), new SoftReference<Bitmap>(bitmap));
-        }
-        img.setImageBitmap(bitmap);
+        // the atlas cell is already padded, setting the drawable already shown is a no-op
+        img.setImageDrawable(symbols[strip.getSymbol(index)]);
         return img;
     }
 
+    // the symbol shown at index, rows 0 to 2 show the result symbols
+    public int getSymbol(int index) {
+        return strip.getSymbol(index);
+    }
+
+    // left, top, right, bottom in the symbol atlas of the symbol shown at index
+    public void getSourceRect(int index, int[] out) {
+        strip.getSourceRect(index, out);
+    }
+
     public synchronized ArrayList<Integer> setItemIndexs(Integer[] itemIndexs, ArrayList<Integer> notWindDrawSymBol) {
         this.itemIndexs = itemIndexs;
         Random random = new Random();
@@ -83,10 +74,11 @@ public class SlotAdapter extends AbstractWheelAdapter {
                 notWindDrawSymBol.remove(ranIndex);
             }
         }
+        publishRows();
         return notWindDrawSymBol;
     }
 
-    public void setDrawItemIndexs(int symbol) {
+    public synchronized void setDrawItemIndexs(int symbol) {
         ArrayList<Integer> indexs = new ArrayList<>();
         for (int i = 0; i < 3; i++) {
             if (itemIndexs[i] == Constants.UNDEFINE) {
@@ -101,6 +93,16 @@ public class SlotAdapter extends AbstractWheelAdapter {
                 indexs.add(Integer.valueOf(itemIndexs[i]));
             }
         }
+        publishRows();
+    }
+
+    // readers only ever see the finished rows
+    private void publishRows() {
+        int[] rows = new int[SymbolStrip.ROWS];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = itemIndexs[i];
+        }
+        strip.setRows(rows);
     }
 
     private Integer getNotDuplicationIndex(int index) {
@@ -114,13 +116,6 @@ public class SlotAdapter extends AbstractWheelAdapter {
         }
     }
 
-    private synchronized int getImageIndex(int index) {
-        if (this.itemIndexs.length > index) {
-            return this.itemIndexs[index];
-        }
-        return index;
-    }
-
     public static int calculateInSampleSize(
             BitmapFactory.Options options, int reqWidth, int reqHeight) {
         // Raw height and width of image
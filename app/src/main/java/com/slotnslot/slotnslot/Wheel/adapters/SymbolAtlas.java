@@ -0,0 +1,123 @@
+package com.slotnslot.slotnslot.Wheel.adapters;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+
+import com.slotnslot.slotnslot.MainApplication;
+import com.slotnslot.slotnslot.utils.Constants;
+import com.slotnslot.slotnslot.utils.SlotUtil;
+
+// every symbol of Constants.items in one bitmap, one cell per symbol in a row.
+// a cell is a reel item at its final size with the item padding already applied, so drawing a symbol
+// is copying its cell. built once on first use and kept for the life of the process.
+public class SymbolAtlas {
+    private static final float REEL_WIDTH_DP = 327.1f;
+    private static final float REEL_HEIGHT_DP = 194.8f;
+    private static final float SIDE_PADDING_DP = 10f;
+    private static final float TOP_BOTTOM_PADDING_DP = 8.1f;
+
+    private final Bitmap bitmap;
+    private final int cellWidth;
+    private final int cellHeight;
+
+    private SymbolAtlas(Context context) {
+        cellWidth = SlotUtil.convertDpToPixel(REEL_WIDTH_DP, context) / 5;
+        cellHeight = SlotUtil.convertDpToPixel(REEL_HEIGHT_DP, context) / 3;
+        int sidePadding = SlotUtil.convertDpToPixel(SIDE_PADDING_DP, context);
+        int topBottomPadding = SlotUtil.convertDpToPixel(TOP_BOTTOM_PADDING_DP, context);
+        int boxWidth = cellWidth - 2 * sidePadding;
+        int boxHeight = cellHeight - 2 * topBottomPadding;
+
+        bitmap = Bitmap.createBitmap(cellWidth * Constants.items.length, cellHeight, Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        RectF dst = new RectF();
+        for (int i = 0; i < Constants.items.length; i++) {
+            Bitmap symbol = SlotAdapter.decodeSampledBitmapFromResource(context.getResources(), Constants.items[i], boxWidth, boxHeight);
+            // fit center inside the padded cell
+            float scale = Math.min((float) boxWidth / symbol.getWidth(), (float) boxHeight / symbol.getHeight());
+            float width = symbol.getWidth() * scale;
+            float height = symbol.getHeight() * scale;
+            float left = i * cellWidth + (cellWidth - width) / 2;
+            float top = (cellHeight - height) / 2;
+            dst.set(left, top, left + width, top + height);
+            canvas.drawBitmap(symbol, null, dst, paint);
+            symbol.recycle();
+        }
+    }
+
+    private static class Holder {
+        private static final SymbolAtlas ATLAS = new SymbolAtlas(MainApplication.getContext());
+    }
+
+    public static SymbolAtlas get() {
+        return Holder.ATLAS;
+    }
+
+    public Bitmap getBitmap() {
+        return bitmap;
+    }
+
+    public int getCellWidth() {
+        return cellWidth;
+    }
+
+    public int getCellHeight() {
+        return cellHeight;
+    }
+
+    public void getSourceRect(int symbol, Rect out) {
+        out.set(symbol * cellWidth, 0, (symbol + 1) * cellWidth, cellHeight);
+    }
+
+    // a drawable of one cell, for item views that can not draw a part of a bitmap themselves
+    public Drawable newDrawable(int symbol) {
+        return new SymbolDrawable(symbol);
+    }
+
+    private class SymbolDrawable extends Drawable {
+        private final Rect src = new Rect();
+        private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+        SymbolDrawable(int symbol) {
+            getSourceRect(symbol, src);
+        }
+
+        @Override
+        public void draw(Canvas canvas) {
+            canvas.drawBitmap(bitmap, src, getBounds(), paint);
+        }
+
+        @Override
+        public int getIntrinsicWidth() {
+            return cellWidth;
+        }
+
+        @Override
+        public int getIntrinsicHeight() {
+            return cellHeight;
+        }
+
+        @Override
+        public void setAlpha(int alpha) {
+            paint.setAlpha(alpha);
+        }
+
+        @Override
+        public void setColorFilter(ColorFilter colorFilter) {
+            paint.setColorFilter(colorFilter);
+        }
+
+        @Override
+        public int getOpacity() {
+            return PixelFormat.TRANSLUCENT;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.slotnslot.slotnslot.Wheel.adapters;
+
+// what one reel shows at each item index and where that symbol sits in the atlas.
+// the rows are an immutable snapshot swapped in whole, so the per frame lookups take no lock and allocate nothing.
+public class SymbolStrip {
+    public static final int ROWS = 3;
+
+    private final int symbolCount;
+    private final int cellWidth;
+    private final int cellHeight;
+    private volatile int[] rows = {0, 1, 2};
+
+    public SymbolStrip(int symbolCount, int cellWidth, int cellHeight) {
+        if (symbolCount < ROWS || cellWidth <= 0 || cellHeight <= 0) {
+            throw new IllegalArgumentException("need at least " + ROWS + " symbols and a positive cell size");
+        }
+        this.symbolCount = symbolCount;
+        this.cellWidth = cellWidth;
+        this.cellHeight = cellHeight;
+    }
+
+    public int getSymbolCount() {
+        return symbolCount;
+    }
+
+    // the result symbols of rows 0 to 2, copied
+    public void setRows(int[] rows) {
+        if (rows.length != ROWS) {
+            throw new IllegalArgumentException("rows must have " + ROWS + " symbols : " + rows.length);
+        }
+        for (int symbol : rows) {
+            if (symbol < 0 || symbol >= symbolCount) {
+                throw new IllegalArgumentException("symbol out of range : " + symbol);
+            }
+        }
+        this.rows = rows.clone();
+    }
+
+    // rows 0 to 2 show the result symbols, any other index the symbol of the same number
+    public int getSymbol(int index) {
+        int[] snapshot = rows;
+        return index >= 0 && index < snapshot.length ? snapshot[index] : index;
+    }
+
+    // left, top, right, bottom in the atlas of the symbol shown at index
+    public void getSourceRect(int index, int[] out) {
+        int left = getSymbol(index) * cellWidth;
+        out[0] = left;
+        out[1] = 0;
+        out[2] = left + cellWidth;
+        out[3] = cellHeight;
+    }
+}
@@ -25,6 +25,7 @@ import com.slotnslot.slotnslot.R;
 import com.slotnslot.slotnslot.SlotType;
 import com.slotnslot.slotnslot.adapters.TabPagerAdapter;
 import com.slotnslot.slotnslot.geth.GethManager;
+import com.slotnslot.slotnslot.geth.RetryPolicy;
 import com.slotnslot.slotnslot.geth.Utils;
 import com.slotnslot.slotnslot.models.AccountViewModel;
 import com.slotnslot.slotnslot.provider.AccountProvider;
@@ -154,7 +155,7 @@ public class SlotMainActivity extends SlotRootActivity {
 
     private void continuePlaying() {
         RxSlotRooms
-                .rxSlotRoomMapSubject
+                .slotRoomMaps()
                 .debounce(2, TimeUnit.SECONDS)
                 .take(1)
                 .subscribe(slotMap -> {
@@ -227,5 +228,6 @@ public class SlotMainActivity extends SlotRootActivity {
         super.onDestroy();
         RxSlotRooms.destroy();
         GethManager.getInstance().stopNode();
+        RetryPolicy.logStats();
     }
 }
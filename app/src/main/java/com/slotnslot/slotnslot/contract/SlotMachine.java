@@ -1,6 +1,7 @@
 package com.slotnslot.slotnslot.contract;
 
 import com.slotnslot.slotnslot.geth.Contract;
+import com.slotnslot.slotnslot.geth.EventRegistry;
 
 import org.ethereum.geth.Receipt;
 import org.web3j.abi.EventValues;
@@ -11,6 +12,7 @@ import org.web3j.abi.datatypes.Bool;
 import org.web3j.abi.datatypes.Event;
 import org.web3j.abi.datatypes.Function;
 import org.web3j.abi.datatypes.StaticArray;
+import org.web3j.abi.datatypes.Type;
 import org.web3j.abi.datatypes.generated.Bytes16;
 import org.web3j.abi.datatypes.generated.Bytes32;
 import org.web3j.abi.datatypes.generated.Uint16;
@@ -28,7 +30,7 @@ import io.reactivex.Observable;
 public final class SlotMachine extends Contract {
     private static final String BINARY = "0x";
 
-    private static final Event PLAYER_LEFT = new Event(
+    private static final Event PLAYER_LEFT = EventRegistry.register(new Event(
             "playerLeft",
             Collections.emptyList(),
             Arrays.asList(
@@ -36,13 +38,13 @@ public final class SlotMachine extends Contract {
                     },
                     new TypeReference<Uint256>() {
                     }
-            ));
-    private static final Event BANKER_LEFT = new Event(
+            )));
+    private static final Event BANKER_LEFT = EventRegistry.register(new Event(
             "bankerLeft",
             Collections.emptyList(),
             Collections.singletonList(new TypeReference<Address>() {
-            }));
-    private static final Event GAME_OCCUPIED = new Event(
+            })));
+    private static final Event GAME_OCCUPIED = EventRegistry.register(new Event(
             "gameOccupied",
             Collections.emptyList(),
             Arrays.asList(
@@ -50,13 +52,13 @@ public final class SlotMachine extends Contract {
                     },
                     new TypeReference.StaticArrayTypeReference<StaticArray<Bytes32>>(3) {
                     }
-            ));
-    private static final Event BANKER_SEED_INITIALIZED = new Event(
+            )));
+    private static final Event BANKER_SEED_INITIALIZED = EventRegistry.register(new Event(
             "bankerSeedInitialized",
             Collections.emptyList(),
             Collections.singletonList(new TypeReference.StaticArrayTypeReference<StaticArray<Bytes32>>(3) {
-            }));
-    private static final Event GAME_INITIALIZED = new Event(
+            })));
+    private static final Event GAME_INITIALIZED = EventRegistry.register(new Event(
             "gameInitialized",
             Collections.emptyList(),
             Arrays.asList(
@@ -68,8 +70,8 @@ public final class SlotMachine extends Contract {
                     },
                     new TypeReference<Uint8>() {
                     }
-            ));
-    private static final Event BANKER_SEED_SET = new Event(
+            )));
+    private static final Event BANKER_SEED_SET = EventRegistry.register(new Event(
             "bankerSeedSet",
             Collections.emptyList(),
             Arrays.asList(
@@ -77,8 +79,8 @@ public final class SlotMachine extends Contract {
                     },
                     new TypeReference<Uint8>() {
                     }
-            ));
-    private static final Event PLAYER_SEED_SET = new Event(
+            )));
+    private static final Event PLAYER_SEED_SET = EventRegistry.register(new Event(
             "playerSeedSet",
             Collections.emptyList(),
             Arrays.asList(
@@ -86,8 +88,8 @@ public final class SlotMachine extends Contract {
                     },
                     new TypeReference<Uint8>() {
                     }
-            ));
-    private static final Event GAME_CONFIRMED = new Event(
+            )));
+    private static final Event GAME_CONFIRMED = EventRegistry.register(new Event(
             "gameConfirmed",
             Collections.emptyList(),
             Arrays.asList(
@@ -97,7 +99,7 @@ public final class SlotMachine extends Contract {
                     },
                     new TypeReference<Bytes32>() {
                     }
-            ));
+            )));
 
 
     private SlotMachine(String contractAddress) {
@@ -271,7 +273,22 @@ public final class SlotMachine extends Contract {
     }
 
     public Observable<GetInfoResponse> getInfo() {
-        Function function = new Function(
+        return executeCallMultipleValueReturnObservable(getInfoFunction())
+                .map(SlotMachine::toGetInfoResponse);
+    }
+
+    public static Observable<GetInfoResponse> getInfo(List<String> slotAddresses) {
+        return executeCalls(slotAddresses, getInfoFunction())
+                .filter(result -> result.value != null && !result.value.isEmpty())
+                .map(result -> {
+                    GetInfoResponse getInfo = toGetInfoResponse(result.value);
+                    getInfo.address = result.address;
+                    return getInfo;
+                });
+    }
+
+    private static Function getInfoFunction() {
+        return new Function(
                 "getInfo",
                 Collections.emptyList(),
                 Arrays.asList(
@@ -291,22 +308,23 @@ public final class SlotMachine extends Contract {
                         },
                         new TypeReference<Uint256>() {
                         }));
-        return executeCallMultipleValueReturnObservable(function)
-                .map(response -> {
-                    GetInfoResponse getInfo = new GetInfoResponse();
-                    getInfo.mPlayer = (Address) response.get(0);
-                    getInfo.owner = (Address) response.get(1);
-                    getInfo.mName = (Bytes16) response.get(2);
-                    getInfo.mDecider = (Uint16) response.get(3);
-                    getInfo.mMinBet = (Uint256) response.get(4);
-                    getInfo.mMaxBet = (Uint256) response.get(5);
-                    getInfo.mMaxPrize = (Uint16) response.get(6);
-                    getInfo.bankerBalance = (Uint256) response.get(7);
-                    return getInfo;
-                });
+    }
+
+    private static GetInfoResponse toGetInfoResponse(List<Type> response) {
+        GetInfoResponse getInfo = new GetInfoResponse();
+        getInfo.mPlayer = (Address) response.get(0);
+        getInfo.owner = (Address) response.get(1);
+        getInfo.mName = (Bytes16) response.get(2);
+        getInfo.mDecider = (Uint16) response.get(3);
+        getInfo.mMinBet = (Uint256) response.get(4);
+        getInfo.mMaxBet = (Uint256) response.get(5);
+        getInfo.mMaxPrize = (Uint16) response.get(6);
+        getInfo.bankerBalance = (Uint256) response.get(7);
+        return getInfo;
     }
 
     public static class GetInfoResponse {
+        public String address;
         public Address mPlayer;
         public Address owner;
         public Bytes16 mName;
@@ -375,6 +393,18 @@ public final class SlotMachine extends Contract {
                 });
     }
 
+    // mined playerLeft events of every slot machine
+    public static Observable<PlayerLeftEventResponse> allPlayerLeftEvents() {
+        return filterLogsByTopic(PLAYER_LEFT)
+                .map(result -> {
+                    PlayerLeftEventResponse typedResponse = new PlayerLeftEventResponse();
+                    typedResponse.address = result.address;
+                    typedResponse.player = (Address) result.value.getNonIndexedValues().get(0);
+                    typedResponse.playerBalance = (Uint256) result.value.getNonIndexedValues().get(1);
+                    return typedResponse;
+                });
+    }
+
     public List<BankerLeftEventResponse> getBankerLeftEvents(Receipt transactionReceipt) throws Exception {
         List<EventValues> valueList = extractEventParameters(BANKER_LEFT, transactionReceipt);
         ArrayList<BankerLeftEventResponse> responses = new ArrayList<>(valueList.size());
@@ -417,6 +447,18 @@ public final class SlotMachine extends Contract {
                 });
     }
 
+    // mined gameOccupied events of every slot machine
+    public static Observable<GameOccupiedEventResponse> allGameOccupiedEvents() {
+        return filterLogsByTopic(GAME_OCCUPIED)
+                .map(result -> {
+                    GameOccupiedEventResponse typedResponse = new GameOccupiedEventResponse();
+                    typedResponse.address = result.address;
+                    typedResponse.player = (Address) result.value.getNonIndexedValues().get(0);
+                    typedResponse.playerSeed = (StaticArray<Bytes32>) result.value.getNonIndexedValues().get(1);
+                    return typedResponse;
+                });
+    }
+
     public List<BankerSeedInitializedEventResponse> getBankerSeedInitializedEvents(Receipt transactionReceipt) throws Exception {
         List<EventValues> valueList = extractEventParameters(BANKER_SEED_INITIALIZED, transactionReceipt);
         ArrayList<BankerSeedInitializedEventResponse> responses = new ArrayList<>(valueList.size());
@@ -532,6 +574,7 @@ public final class SlotMachine extends Contract {
     }
 
     public static class PlayerLeftEventResponse {
+        public String address;
         public Address player;
         public Uint256 playerBalance;
     }
@@ -541,6 +584,7 @@ public final class SlotMachine extends Contract {
     }
 
     public static class GameOccupiedEventResponse {
+        public String address;
         public Address player;
         public StaticArray<Bytes32> playerSeed;
     }
@@ -1,6 +1,7 @@
 package com.slotnslot.slotnslot.contract;
 
 import com.slotnslot.slotnslot.geth.Contract;
+import com.slotnslot.slotnslot.geth.EventRegistry;
 
 import org.ethereum.geth.Receipt;
 import org.web3j.abi.EventValues;
@@ -23,7 +24,7 @@ public final class SlotMachineManager extends Contract {
 
     private static final String BINARY = "0x";
 
-    private static final Event SLOT_MACHINE_CREATED = new Event(
+    private static final Event SLOT_MACHINE_CREATED = EventRegistry.register(new Event(
             "slotMachineCreated",
             Collections.emptyList(),
             Arrays.asList(
@@ -40,8 +41,8 @@ public final class SlotMachineManager extends Contract {
                     new TypeReference<Uint256>() {
                     },
                     new TypeReference<Address>() {
-                    }));
-    private static final Event SLOT_MACHINE_REMOVED = new Event(
+                    })));
+    private static final Event SLOT_MACHINE_REMOVED = EventRegistry.register(new Event(
             "slotMachineRemoved",
             Collections.emptyList(),
             Arrays.asList(
@@ -50,7 +51,7 @@ public final class SlotMachineManager extends Contract {
                     new TypeReference<Address>() {
                     },
                     new TypeReference<Uint256>() {
-                    }));
+                    })));
 
     private SlotMachineManager(String contractAddress) {
         super(BINARY, contractAddress);
@@ -120,6 +121,21 @@ public final class SlotMachineManager extends Contract {
                 });
     }
 
+    public Observable<SlotMachineCreatedEventResponse> pastSlotMachineCreatedEvents(long fromBlock) {
+        return pastFilterLogs(SLOT_MACHINE_CREATED, fromBlock)
+                .map(eventValues -> {
+                    SlotMachineCreatedEventResponse typedResponse = new SlotMachineCreatedEventResponse();
+                    typedResponse._banker = (Address) eventValues.getNonIndexedValues().get(0);
+                    typedResponse._decider = (Uint16) eventValues.getNonIndexedValues().get(1);
+                    typedResponse._minBet = (Uint256) eventValues.getNonIndexedValues().get(2);
+                    typedResponse._maxBet = (Uint256) eventValues.getNonIndexedValues().get(3);
+                    typedResponse._maxPrize = (Uint16) eventValues.getNonIndexedValues().get(4);
+                    typedResponse._totalNum = (Uint256) eventValues.getNonIndexedValues().get(5);
+                    typedResponse._slotAddr = (Address) eventValues.getNonIndexedValues().get(6);
+                    return typedResponse;
+                });
+    }
+
     public List<SlotMachineRemovedEventResponse> getSlotMachineRemovedEvents(Receipt transactionReceipt) throws Exception {
         List<EventValues> valueList = extractEventParameters(SLOT_MACHINE_REMOVED, transactionReceipt);
         ArrayList<SlotMachineRemovedEventResponse> responses = new ArrayList<>(valueList.size());
@@ -144,6 +160,17 @@ public final class SlotMachineManager extends Contract {
                 });
     }
 
+    public Observable<SlotMachineRemovedEventResponse> pastSlotMachineRemovedEvents(long fromBlock) {
+        return pastFilterLogs(SLOT_MACHINE_REMOVED, fromBlock)
+                .map(eventValues -> {
+                    SlotMachineRemovedEventResponse typedResponse = new SlotMachineRemovedEventResponse();
+                    typedResponse._banker = (Address) eventValues.getNonIndexedValues().get(0);
+                    typedResponse._slotAddr = (Address) eventValues.getNonIndexedValues().get(1);
+                    typedResponse._totalNum = (Uint256) eventValues.getNonIndexedValues().get(2);
+                    return typedResponse;
+                });
+    }
+
     public static class SlotMachineCreatedEventResponse {
         public Address _banker;
         public Uint16 _decider;
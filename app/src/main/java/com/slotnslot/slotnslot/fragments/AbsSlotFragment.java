@@ -11,12 +11,13 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.LinearLayout;
 import android.widget.RelativeLayout;
-import android.widget.TableLayout;
 import android.widget.TextView;
 
 import com.slotnslot.slotnslot.R;
 import com.slotnslot.slotnslot.SlotType;
-import com.slotnslot.slotnslot.Wheel.WheelView;
+import com.slotnslot.slotnslot.Wheel.ReelAnimator;
+import com.slotnslot.slotnslot.Wheel.ReelSurfaceView;
+import com.slotnslot.slotnslot.Wheel.ReelTimeline;
 import com.slotnslot.slotnslot.Wheel.adapters.SlotAdapter;
 import com.slotnslot.slotnslot.activities.SlotGameActivity;
 import com.slotnslot.slotnslot.geth.Utils;
@@ -34,10 +35,14 @@ import java.util.concurrent.TimeUnit;
 
 import butterknife.BindView;
 import butterknife.ButterKnife;
-import io.reactivex.Completable;
 import io.reactivex.android.schedulers.AndroidSchedulers;
 
 public abstract class AbsSlotFragment extends SlotRootFragment {
+    // ms between one reel and the next starting or stopping
+    private static final long REEL_STAGGER = 200;
+    // ms from the first stop until the last reel is at rest
+    private static final long LAST_REEL_LANDED = REEL_STAGGER * (ReelSurfaceView.REELS - 1)
+            + TimeUnit.NANOSECONDS.toMillis(ReelAnimator.STOP_DURATION);
 
     @BindView(R.id.slot_common_slot_container)
     RelativeLayout slotContainer;
@@ -59,7 +64,10 @@ public abstract class AbsSlotFragment extends SlotRootFragment {
 
     protected PlaySlotViewModel viewModel;
     protected ArrayList<SlotAdapter> adapterList = new ArrayList<>();
+    private ReelSurfaceView reelView;
     protected ArrayList<DrawView> payLineView = new ArrayList<>();
+    // every delayed reel and pay line event of a spin, dropped with the view
+    protected final ReelTimeline timeline = new ReelTimeline();
     private String slotRoomAddress;
 
     @Override
@@ -97,11 +105,7 @@ public abstract class AbsSlotFragment extends SlotRootFragment {
         // set title
         ((SlotGameActivity) getActivity()).setTitle(rxSlotRoom.getSlotRoom().getTitle());
 
-        addSlot(0, false);
-        addSlot(1, false);
-        addSlot(2, false);
-        addSlot(3, false);
-        addSlot(4, false);
+        addReels();
 
         subscribeTextChange();
         setClickEvents();
@@ -143,66 +147,48 @@ public abstract class AbsSlotFragment extends SlotRootFragment {
 
     protected abstract int getViewID();
 
-    private void addSlot(int id, boolean setListener) {
-        SlotAdapter slotAdapter = new SlotAdapter();
-        adapterList.add(slotAdapter);
-
-        WheelView wheel = /* getWheel(id); */addWheel(id);
-        wheel.setViewAdapter(slotAdapter);
-        wheel.setCyclic(true);
-        wheel.setEnabled(false);
-        slotLayout.addView(wheel, new TableLayout.LayoutParams(
+    // one view draws every reel
+    private void addReels() {
+        for (int i = 0; i < ReelSurfaceView.REELS; i++) {
+            adapterList.add(new SlotAdapter());
+        }
+        reelView = new ReelSurfaceView(getContext());
+        reelView.setAdapters(adapterList);
+        slotLayout.addView(reelView, new LinearLayout.LayoutParams(
                 ViewGroup.LayoutParams.MATCH_PARENT,
-                ViewGroup.LayoutParams.WRAP_CONTENT, 1f));
-    }
-
-    private WheelView addWheel(int id) {
-        WheelView wheelView = new WheelView(getContext());
-        wheelView.setId(id);
-        return wheelView;
+                ViewGroup.LayoutParams.WRAP_CONTENT));
+        reelView.setOnClickListener(v -> skipAnimation());
     }
 
     public void tapSpin() {
-        Completable complete = Completable.complete();
-        complete.delay(0, TimeUnit.MILLISECONDS).observeOn(AndroidSchedulers.mainThread()).subscribe(() -> {
+        timeline.schedule(0, "clear", () -> {
             removePayLines();
             bigWinContainer.setVisibility(View.INVISIBLE);
         });
-        complete.delay(0, TimeUnit.MILLISECONDS).observeOn(AndroidSchedulers.mainThread()).subscribe(() -> spin(0));
-        complete.delay(200, TimeUnit.MILLISECONDS).observeOn(AndroidSchedulers.mainThread()).subscribe(() -> spin(1));
-        complete.delay(400, TimeUnit.MILLISECONDS).observeOn(AndroidSchedulers.mainThread()).subscribe(() -> spin(2));
-        complete.delay(600, TimeUnit.MILLISECONDS).observeOn(AndroidSchedulers.mainThread()).subscribe(() -> spin(3));
-        complete.delay(800, TimeUnit.MILLISECONDS).observeOn(AndroidSchedulers.mainThread()).subscribe(() -> spin(4));
-
-//        complete.delay(2000, TimeUnit.MILLISECONDS).observeOn(AndroidSchedulers.mainThread()).subscribe(() -> drawResult(7, 0.1));
-    }
-
-    private void spin(int index) {
-        WheelView view = (WheelView) slotLayout.getChildAt(index);
-        view.startScrolling();
+        for (int i = 0; i < ReelSurfaceView.REELS; i++) {
+            int reel = i;
+            timeline.schedule(i * REEL_STAGGER, "spin " + reel, () -> reelView.startScrolling(reel));
+        }
     }
 
     protected void tapStop(boolean isDelay) {
         int delay = isDelay ? 2000 : 0;
-
-        Completable complete = Completable.complete();
-        complete.delay(delay, TimeUnit.MILLISECONDS).observeOn(AndroidSchedulers.mainThread()).subscribe(() -> stop(0));
-        complete.delay(delay + 200, TimeUnit.MILLISECONDS).observeOn(AndroidSchedulers.mainThread()).subscribe(() -> stop(1));
-        complete.delay(delay + 400, TimeUnit.MILLISECONDS).observeOn(AndroidSchedulers.mainThread()).subscribe(() -> stop(2));
-        complete.delay(delay + 600, TimeUnit.MILLISECONDS).observeOn(AndroidSchedulers.mainThread()).subscribe(() -> stop(3));
-        complete.delay(delay + 800, TimeUnit.MILLISECONDS).observeOn(AndroidSchedulers.mainThread()).subscribe(() -> stop(4));
+        for (int i = 0; i < ReelSurfaceView.REELS; i++) {
+            int reel = i;
+            timeline.schedule(delay + i * REEL_STAGGER, "stop " + reel, () -> reelView.stopScrolling(reel));
+        }
     }
 
-    private void stop(int index) {
-        WheelView view = (WheelView) slotLayout.getChildAt(index);
-        view.stopScrolling();
+    // runs what is scheduled now and lands the stopping reels
+    public void skipAnimation() {
+        timeline.fastForward();
+        reelView.land();
     }
 
     public void autoSpin() {
         //TODO: AUTO SPIN
-        for (int i = 0; i < slotLayout.getChildCount(); i++) {
-            WheelView view = (WheelView) slotLayout.getChildAt(i);
-            view.stopScrolling();
+        for (int i = 0; i < ReelSurfaceView.REELS; i++) {
+            reelView.stopScrolling(i);
         }
     }
 
@@ -238,16 +224,6 @@ public abstract class AbsSlotFragment extends SlotRootFragment {
     }
 
     private void drawSlot(SlotResultDrawingLine slotResultDrawingLine) {
-        Completable
-                .complete()
-                .delay(1000, TimeUnit.MILLISECONDS)
-                .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(() -> {
-                    if (slotResultDrawingLine.drawable == SlotResultDrawingLine.Drawable.DRAWABLE) {
-                        drawLine(slotResultDrawingLine);
-                    }
-                });
-
         Integer[][] drawLine = slotResultDrawingLine.slotLines;
         ArrayList<Integer> drawSymbols = new ArrayList<>();
         for (Integer[] line : drawLine) {
@@ -265,9 +241,15 @@ public abstract class AbsSlotFragment extends SlotRootFragment {
             }
         }
         for (int i = 0; i < drawLine.length; i++) {
-            notWinDrawSymbol = adapterList.get(i).setItemIndexs(drawLine[i], notWinDrawSymbol);
+            // the layout is cached by the solver, the adapter fills its own copy
+            notWinDrawSymbol = adapterList.get(i).setItemIndexs(drawLine[i].clone(), notWinDrawSymbol);
         }
+        // a reel at rest only shows new symbols once redrawn
+        reelView.invalidate();
         tapStop(false);
+        if (slotResultDrawingLine.drawable == SlotResultDrawingLine.Drawable.DRAWABLE) {
+            timeline.schedule(LAST_REEL_LANDED, "pay lines", () -> drawLine(slotResultDrawingLine));
+        }
     }
 
     private void drawLine(SlotResultDrawingLine slotResultDrawingLine) {
@@ -276,9 +258,8 @@ public abstract class AbsSlotFragment extends SlotRootFragment {
             Integer[] winLine = Constants.WIN_LINE[drawLine.get(i).lineNum];
             int[][] points = new int[5][2];
             for (int j = 0; j < 5; j++) {
-                WheelView wheelView = (WheelView) slotLayout.getChildAt(j);
-                float y = wheelView.getY() + wheelView.getMeasuredHeight() / (3 - winLine[j]) - (winLine[j] == 1 ? 0 : (wheelView.getItemHeight() / 2));
-                float x = wheelView.getX() + (wheelView.getWidth() / 2);
+                float y = reelView.getRowCenterY(winLine[j]);
+                float x = reelView.getReelCenterX(j);
                 points[j][0] = (int) x;
                 points[j][1] = (int) y;
             }
@@ -298,6 +279,12 @@ public abstract class AbsSlotFragment extends SlotRootFragment {
         slotContainer.invalidate();
     }
 
+    @Override
+    public void onDestroyView() {
+        timeline.cancel();
+        super.onDestroyView();
+    }
+
     @Override
     public void onDestroy() {
         super.onDestroy();
@@ -13,7 +13,7 @@ import io.reactivex.android.schedulers.AndroidSchedulers;
 public class MakeListFragment extends SlotRoomListFragment {
     @Override
     void setItemList() {
-        RxSlotRooms.rxMakeSlotRoomMapSubject
+        RxSlotRooms.makeSlotRoomMaps()
                 .compose(bindToLifecycle())
                 .debounce(1000, TimeUnit.MILLISECONDS)
                 .observeOn(AndroidSchedulers.mainThread())
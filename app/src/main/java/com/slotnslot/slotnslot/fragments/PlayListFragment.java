@@ -3,35 +3,84 @@ package com.slotnslot.slotnslot.fragments;
 import com.slotnslot.slotnslot.models.SlotRoomViewModel;
 import com.slotnslot.slotnslot.provider.RxSlotRoom;
 import com.slotnslot.slotnslot.provider.RxSlotRooms;
+import com.slotnslot.slotnslot.provider.SlotRoomsDiff;
 
-import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 
 import io.reactivex.android.schedulers.AndroidSchedulers;
 
 public class PlayListFragment extends SlotRoomListFragment {
+    // addresses currently in getItems()
+    private final Set<String> listed = new HashSet<>();
+
     @Override
     void setItemList() {
-        RxSlotRooms.rxSlotRoomMapSubject
+        RxSlotRooms.slotRoomDiffs()
                 .compose(bindToLifecycle())
-                .debounce(1000, TimeUnit.MILLISECONDS)
                 .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(rxSlotRoomMap -> {
-                    getItems().clear();
-                    List<SlotRoomViewModel> makeList = new ArrayList<>();
-                    for (RxSlotRoom slotRoom : rxSlotRoomMap.values()) {
-                        if (slotRoom.getSlotRoom().isBankrupt()) {
-                            continue; // do not list bankrupt slot room
-                        }
-                        if (slotRoom.getSlotRoom().isOccupied()) {
-                            continue; // slot room is already occupied by someone
-                        }
-                        SlotRoomViewModel model = new SlotRoomViewModel(slotRoom);
-                        makeList.add(model);
-                    }
-                    getItems().addAll(makeList);
-                    getAdapter().notifyDataSetChanged();
-                });
+                .subscribe(this::applyDiff, Throwable::printStackTrace);
+    }
+
+    private void applyDiff(SlotRoomsDiff diff) {
+        List<SlotRoomViewModel> items = getItems();
+        if (diff.isReset()) {
+            items.clear();
+            listed.clear();
+            appendListable(diff.getAdded());
+            getAdapter().notifyDataSetChanged();
+            return;
+        }
+
+        // position 0 of the adapter is the header image
+        if (!diff.getRemoved().isEmpty() || !diff.getChanged().isEmpty()) {
+            for (int i = items.size() - 1; i >= 0; i--) {
+                String address = items.get(i).getSlotAddress();
+                if (diff.getRemoved().contains(address)
+                        || diff.getChanged().contains(address) && !isListable(RxSlotRooms.getSlotRoom(address))) {
+                    items.remove(i);
+                    listed.remove(address);
+                    getAdapter().notifyItemRemoved(i + 1);
+                } else if (diff.getChanged().contains(address)) {
+                    getAdapter().notifyItemChanged(i + 1);
+                }
+            }
+        }
+
+        int start = items.size();
+        appendListable(diff.getAdded());
+        // a changed room may have become listable, e.g. its player left
+        appendListable(diff.getChanged());
+        if (items.size() > start) {
+            getAdapter().notifyItemRangeInserted(start + 1, items.size() - start);
+        }
+    }
+
+    private void appendListable(Set<String> addresses) {
+        for (String address : addresses) {
+            if (listed.contains(address)) {
+                continue;
+            }
+            RxSlotRoom slotRoom = RxSlotRooms.getSlotRoom(address);
+            if (!isListable(slotRoom)) {
+                continue;
+            }
+            getItems().add(new SlotRoomViewModel(slotRoom));
+            listed.add(address);
+        }
+    }
+
+    private static boolean isListable(RxSlotRoom slotRoom) {
+        if (slotRoom == null) {
+            return false;
+        }
+        if (slotRoom.getSlotRoom().isBankrupt()) {
+            return false; // do not list bankrupt slot room
+        }
+        if (slotRoom.getSlotRoom().isOccupied()) {
+            return false; // slot room is already occupied by someone
+        }
+        return true;
     }
-}
\ No newline at end of file
+}
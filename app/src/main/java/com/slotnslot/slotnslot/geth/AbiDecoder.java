@@ -0,0 +1,164 @@
+package com.slotnslot.slotnslot.geth;
+
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Bool;
+import org.web3j.abi.datatypes.StaticArray;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Bytes16;
+import org.web3j.abi.datatypes.generated.Bytes32;
+import org.web3j.abi.datatypes.generated.Uint16;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+import org.web3j.utils.Numeric;
+
+import java.lang.reflect.ParameterizedType;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// decodes the static abi types used by the slot contracts straight from the returned bytes.
+// anything else (dynamic arrays, strings) falls back to web3j's hex based decoder.
+public class AbiDecoder {
+    public static final int WORD_SIZE = 32;
+    private static final int ADDRESS_SIZE = 20;
+
+    // web3j values are immutable, so every uint8 and bool word maps onto one shared instance
+    private static final Bool FALSE = new Bool(false);
+    private static final Bool TRUE = new Bool(true);
+    private static final Uint8[] UINT8 = new Uint8[256];
+
+    static {
+        for (int i = 0; i < UINT8.length; i++) {
+            UINT8[i] = new Uint8(BigInteger.valueOf(i));
+        }
+    }
+
+    private AbiDecoder() {
+    }
+
+    public static List<Type> decode(byte[] data, List<TypeReference<Type>> parameters) {
+        if (data == null || data.length == 0) {
+            return Collections.emptyList();
+        }
+        if (!isStatic(parameters)) {
+            return FunctionReturnDecoder.decode(Numeric.toHexString(data), parameters);
+        }
+
+        List<Type> values = new ArrayList<>(parameters.size());
+        int offset = 0;
+        for (TypeReference<Type> parameter : parameters) {
+            Class<?> type = rawType(parameter.getType());
+            if (type == StaticArray.class) {
+                int size = ((TypeReference.StaticArrayTypeReference) parameter).getSize();
+                Class<?> componentType = rawType(((ParameterizedType) parameter.getType()).getActualTypeArguments()[0]);
+                Type[] items = new Type[size];
+                for (int i = 0; i < size; i++) {
+                    items[i] = decodeWord(data, offset, componentType);
+                    offset += WORD_SIZE;
+                }
+                values.add(new StaticArray<>(items));
+            } else {
+                values.add(decodeWord(data, offset, type));
+                offset += WORD_SIZE;
+            }
+        }
+        return values;
+    }
+
+    public static boolean isStatic(List<? extends TypeReference<?>> parameters) {
+        for (TypeReference<?> parameter : parameters) {
+            java.lang.reflect.Type type = parameter.getType();
+            Class<?> raw = rawType(type);
+            if (raw == StaticArray.class) {
+                if (!(parameter instanceof TypeReference.StaticArrayTypeReference)) {
+                    return false;
+                }
+                raw = rawType(((ParameterizedType) type).getActualTypeArguments()[0]);
+            }
+            if (!isStaticWord(raw)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isStaticWord(Class<?> type) {
+        return type == Address.class
+                || type == Bool.class
+                || type == Uint8.class
+                || type == Uint16.class
+                || type == Uint256.class
+                || type == Bytes16.class
+                || type == Bytes32.class;
+    }
+
+    private static Class<?> rawType(java.lang.reflect.Type type) {
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        return (Class<?>) type;
+    }
+
+    private static Type decodeWord(byte[] data, int offset, Class<?> type) {
+        checkBounds(data, offset);
+        if (type == Address.class) {
+            return new Address(readAddress(data, offset));
+        }
+        if (type == Bool.class) {
+            return readBool(data, offset) ? TRUE : FALSE;
+        }
+        if (type == Uint8.class) {
+            return UINT8[readUint8(data, offset)];
+        }
+        if (type == Uint16.class) {
+            return new Uint16(BigInteger.valueOf(readUint16(data, offset)));
+        }
+        if (type == Uint256.class) {
+            return new Uint256(readUint256(data, offset));
+        }
+        if (type == Bytes16.class) {
+            return new Bytes16(readBytes(data, offset, 16));
+        }
+        if (type == Bytes32.class) {
+            return new Bytes32(readBytes(data, offset, WORD_SIZE));
+        }
+        throw new GethException("unsupported static type : " + type.getSimpleName());
+    }
+
+    /**
+     * primitive readers, offset is the byte offset of the 32 byte word
+     **/
+    public static int readUint8(byte[] data, int offset) {
+        return data[offset + WORD_SIZE - 1] & 0xff;
+    }
+
+    public static int readUint16(byte[] data, int offset) {
+        return (data[offset + WORD_SIZE - 2] & 0xff) << 8 | data[offset + WORD_SIZE - 1] & 0xff;
+    }
+
+    public static boolean readBool(byte[] data, int offset) {
+        return data[offset + WORD_SIZE - 1] != 0;
+    }
+
+    public static BigInteger readUint256(byte[] data, int offset) {
+        return new BigInteger(1, Arrays.copyOfRange(data, offset, offset + WORD_SIZE));
+    }
+
+    public static byte[] readBytes(byte[] data, int offset, int length) {
+        return Arrays.copyOfRange(data, offset, offset + length);
+    }
+
+    public static BigInteger readAddress(byte[] data, int offset) {
+        return new BigInteger(1, Arrays.copyOfRange(data, offset + WORD_SIZE - ADDRESS_SIZE, offset + WORD_SIZE));
+    }
+
+    private static void checkBounds(byte[] data, int offset) {
+        if (offset + WORD_SIZE > data.length) {
+            throw new GethException("abi data too short : " + data.length + " bytes, need " + (offset + WORD_SIZE));
+        }
+    }
+}
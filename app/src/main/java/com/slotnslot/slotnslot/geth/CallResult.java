@@ -0,0 +1,11 @@
+package com.slotnslot.slotnslot.geth;
+
+public class CallResult<T> {
+    public final String address;
+    public final T value;
+
+    public CallResult(String address, T value) {
+        this.address = address;
+        this.value = value;
+    }
+}
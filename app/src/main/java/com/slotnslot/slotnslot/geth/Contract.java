@@ -3,7 +3,6 @@ package com.slotnslot.slotnslot.geth;
 import org.ethereum.geth.Receipt;
 import org.web3j.abi.EventValues;
 import org.web3j.abi.FunctionEncoder;
-import org.web3j.abi.FunctionReturnDecoder;
 import org.web3j.abi.datatypes.Event;
 import org.web3j.abi.datatypes.Function;
 import org.web3j.abi.datatypes.Type;
@@ -36,13 +35,19 @@ public abstract class Contract {
     }
 
     protected Observable<List<Type>> executeCall(Function function) {
-        return TransactionManager.executeCall(
+        String data = FunctionEncoder.encode(function);
+        return ContractCache.get(contractAddress, data, TransactionManager.executeCall(
                 BigInteger.ZERO,
                 BigInteger.ZERO,
                 contractAddress,
-                FunctionEncoder.encode(function),
+                data,
                 BigInteger.ZERO)
-                .map(result -> FunctionReturnDecoder.decode(result, function.getOutputParameters()));
+                .map(result -> AbiDecoder.decode(result, function.getOutputParameters())));
+    }
+
+    protected static Observable<CallResult<List<Type>>> executeCalls(List<String> addresses, Function function) {
+        return TransactionManager.executeCalls(addresses, FunctionEncoder.encode(function))
+                .map(result -> new CallResult<>(result.address, AbiDecoder.decode(result.value, function.getOutputParameters())));
     }
 
     protected Observable<List<Type>> executeCallMultipleValueReturnObservable(Function function) {
@@ -70,7 +75,8 @@ public abstract class Contract {
     }
 
     protected Observable<Receipt> send(String to, String data, BigInteger value, BigInteger gasPrice, BigInteger gasLimit) {
-        return TransactionManager.executeTransaction(gasPrice, gasLimit, to, data, value);
+        return TransactionManager.executeTransaction(gasPrice, gasLimit, to, data, value)
+                .doOnNext(receipt -> ContractCache.invalidate(to));
     }
 
     protected List<EventValues> extractEventParameters(Event event, Receipt transactionReceipt) throws Exception {
@@ -78,14 +84,30 @@ public abstract class Contract {
     }
 
     protected Observable<EventValues> filterLogs(Event event) {
-        FilterManager.Filter filter = new FilterManager.Filter(event, contractAddress);
-        return FilterManager.filterLogs(filter)
-                .map(log -> Utils.extractEventParameters(event, log));
+        return FilterManager.filterLogs(contractAddress, EventRegistry.getTopic(event))
+                .map(log -> Utils.decodeEventParameters(event, log))
+                .doOnNext(values -> ContractCache.invalidate(contractAddress));
+    }
+
+    // the event as already mined since fromBlock
+    protected Observable<EventValues> pastFilterLogs(Event event, long fromBlock) {
+        FilterManager.Filter filter = new FilterManager.Filter(event, contractAddress)
+                .setFromBlock(fromBlock)
+                .setToBlock(GethConstants.LATEST_BLOCK);
+        return FilterManager.pastFilterLogs(filter)
+                .map(log -> Utils.decodeEventParameters(event, log));
+    }
+
+    // the event from every contract emitting it, tagged with the emitting address
+    protected static Observable<CallResult<EventValues>> filterLogsByTopic(Event event) {
+        return FilterManager.filterLogsByTopic(EventRegistry.getTopic(event))
+                .map(log -> new CallResult<>(log.getAddress().getHex().toLowerCase(), Utils.decodeEventParameters(event, log)))
+                .doOnNext(result -> ContractCache.invalidate(result.address));
     }
 
     protected Observable<EventValues> pendingFilterLogs(Event event) {
-        FilterManager.Filter filter = new FilterManager.Filter(event, contractAddress);
-        return FilterManager.pendingFilterLogs(filter)
-                .map(log -> Utils.extractEventParameters(event, log));
+        return FilterManager.pendingFilterLogs(contractAddress, EventRegistry.getTopic(event))
+                .map(log -> Utils.decodeEventParameters(event, log))
+                .doOnNext(values -> ContractCache.invalidate(contractAddress));
     }
 }
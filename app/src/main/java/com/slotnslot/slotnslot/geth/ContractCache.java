@@ -0,0 +1,104 @@
+package com.slotnslot.slotnslot.geth;
+
+import org.web3j.abi.datatypes.Type;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+
+// read-through cache of constant calls, valid until the next head or a log of the same contract
+public class ContractCache {
+    private static final String TAG = ContractCache.class.getSimpleName();
+
+    // (contract, encoded selector and args) -> result read at a block
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private static Disposable headDisposable;
+
+    private ContractCache() {
+    }
+
+    public static Observable<List<Type>> get(String address, String data, Observable<List<Type>> loader) {
+        ensureWatching();
+        long block = HeadWatcher.getLatestBlock();
+        if (block < 0) {
+            // no head yet, nothing would ever invalidate the entry
+            return loader;
+        }
+
+        String key = key(address, data);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.block == block) {
+            return entry.result;
+        }
+
+        Entry created = new Entry(key, block, loader);
+        if (entry == null ? entries.putIfAbsent(key, created) != null : !entries.replace(key, entry, created)) {
+            // somebody else loaded it meanwhile
+            Entry current = entries.get(key);
+            if (current != null && current.block == block) {
+                return current.result;
+            }
+        }
+        return created.result;
+    }
+
+    public static void invalidate(String address) {
+        String prefix = address.toLowerCase() + ":";
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().startsWith(prefix)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public static void clear() {
+        entries.clear();
+    }
+
+    public static int size() {
+        return entries.size();
+    }
+
+    private static synchronized void ensureWatching() {
+        if (headDisposable != null) {
+            return;
+        }
+        // entries put while nobody watched may be from any earlier block
+        entries.clear();
+        headDisposable = HeadWatcher
+                .heads()
+                .subscribe(header -> onHead(), Throwable::printStackTrace);
+    }
+
+    // a block without reads ends the watch, the next get starts it again
+    private static synchronized void onHead() {
+        if (entries.isEmpty() && headDisposable != null) {
+            headDisposable.dispose();
+            headDisposable = null;
+            return;
+        }
+        entries.clear();
+    }
+
+    private static String key(String address, String data) {
+        return address.toLowerCase() + ":" + data;
+    }
+
+    private static class Entry {
+        private final long block;
+        private final Observable<List<Type>> result;
+
+        Entry(String key, long block, Observable<List<Type>> loader) {
+            this.block = block;
+            // a failed load only drops itself, not an entry that replaced it meanwhile
+            this.result = loader
+                    .doOnError(e -> entries.remove(key, this))
+                    .cache();
+        }
+    }
+}
@@ -6,11 +6,12 @@ import org.ethereum.geth.BigInt;
 public class Credential {
     private final Account account;
     private final String passphrase;
-    private long nonce;
+    private final NonceManager nonceManager;
 
     private Credential(Account account, String passphrase) {
         this.account = account;
         this.passphrase = passphrase;
+        this.nonceManager = new NonceManager(account.getAddress());
     }
 
     public static Credential create(Account account, String passphrase) {
@@ -23,21 +24,16 @@ public class Credential {
         return account;
     }
 
-    public long getNonce() {
-        return nonce;
+    public NonceManager getNonceManager() {
+        return nonceManager;
     }
 
-    public long syncNonce() {
-        try {
-            nonce = GethManager.getClient().getPendingNonceAt(GethManager.getMainContext(), account.getAddress());
-            return nonce;
-        } catch (Exception e) {
-            throw new GethException("fail to sync nonce.", e);
-        }
+    public long getNonce() {
+        return nonceManager.peek();
     }
 
-    public long updateNonce() {
-        return ++nonce;
+    public long syncNonce() {
+        return nonceManager.sync();
     }
 
     public org.ethereum.geth.Transaction sign(org.ethereum.geth.Transaction transaction) throws Exception {
@@ -89,7 +89,7 @@ public class CredentialManager {
         return defaultCredential.getNonce();
     }
 
-    public static void updateDefaultNonce() {
-        defaultCredential.updateNonce();
+    public static NonceManager getDefaultNonceManager() {
+        return getDefault().getNonceManager();
     }
 }
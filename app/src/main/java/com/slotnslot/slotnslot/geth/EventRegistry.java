@@ -0,0 +1,55 @@
+package com.slotnslot.slotnslot.geth;
+
+import org.ethereum.geth.Hashes;
+import org.ethereum.geth.Log;
+import org.web3j.abi.EventEncoder;
+import org.web3j.abi.EventValues;
+import org.web3j.abi.datatypes.Event;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// event signature hashes are computed once, logs are dispatched by their topic0
+public class EventRegistry {
+    private static final Map<Event, String> topics = new ConcurrentHashMap<>();
+    private static final Map<String, Event> events = new ConcurrentHashMap<>();
+
+    private EventRegistry() {
+    }
+
+    public static Event register(Event event) {
+        String topic = EventEncoder.encode(event);
+        topics.put(event, topic);
+        events.put(topic, event);
+        return event;
+    }
+
+    public static String getTopic(Event event) {
+        String topic = topics.get(event);
+        if (topic == null) {
+            register(event);
+            topic = topics.get(event);
+        }
+        return topic;
+    }
+
+    public static Event getEvent(String topic) {
+        return events.get(topic);
+    }
+
+    public static Event getEvent(Log log) throws Exception {
+        Hashes topics = log.getTopics();
+        if (topics == null || topics.size() == 0) {
+            return null;
+        }
+        return events.get(topics.get(0).getHex());
+    }
+
+    public static EventValues decode(Log log) throws Exception {
+        Event event = getEvent(log);
+        if (event == null) {
+            return null;
+        }
+        return Utils.decodeEventParameters(event, log);
+    }
+}
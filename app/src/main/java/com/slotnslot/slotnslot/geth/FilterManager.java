@@ -1,5 +1,7 @@
 package com.slotnslot.slotnslot.geth;
 
+import com.slotnslot.slotnslot.BuildConfig;
+
 import org.ethereum.geth.Address;
 import org.ethereum.geth.Addresses;
 import org.ethereum.geth.BigInt;
@@ -7,33 +9,126 @@ import org.ethereum.geth.Context;
 import org.ethereum.geth.EthereumClient;
 import org.ethereum.geth.FilterLogsHandler;
 import org.ethereum.geth.FilterQuery;
+import org.ethereum.geth.Hashes;
 import org.ethereum.geth.Log;
 import org.ethereum.geth.Logs;
 import org.ethereum.geth.Subscription;
 import org.ethereum.geth.Topics;
-import org.web3j.abi.EventEncoder;
 import org.web3j.abi.datatypes.Event;
 
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import io.reactivex.Observable;
 import io.reactivex.ObservableEmitter;
+import io.reactivex.Scheduler;
 import io.reactivex.android.schedulers.AndroidSchedulers;
-import io.reactivex.disposables.Disposable;
 import io.reactivex.schedulers.Schedulers;
 
 public class FilterManager {
     private static final String TAG = FilterManager.class.getSimpleName();
 
-    private static final int POLLING_PERIOD = 1000;
+    private static final long ACTIVE_POLLING_PERIOD = 1000; // ms
+    private static final long IDLE_POLLING_PERIOD = 4000; // ms
+    private static final long ACTIVE_WINDOW = 15 * 1000; // ms without logs before polling slows down
     private static final int DEFAULT_BUFFER_SIZE = 16;
 
+    // every pending filter shares one tick on a dedicated thread
+    private static final Scheduler pollScheduler = Schedulers.from(Executors.newSingleThreadExecutor());
+    private static final List<FilterPoller> pollers = new CopyOnWriteArrayList<>();
+    private static boolean ticking = false;
+    private static volatile long lastActivity;
+
+    private static final Histogram pollLatency = new Histogram(10, 50, 100, 250, 500, 1000, 5000); // ms
+    private static final Histogram logsPerTick = new Histogram(0, 1, 2, 5, 10, 50);
+
+    // one native filter per contract address, shared by every event observable of that contract
+    private static final Map<String, Observable<TopicLog>> sharedLogs = new HashMap<>();
+    private static final Map<String, Observable<TopicLog>> sharedPendingLogs = new HashMap<>();
+    // one native filter per topic for events followed across every contract
+    private static final Map<String, Observable<Log>> sharedTopicLogs = new HashMap<>();
+
     private FilterManager() {
     }
 
+    public static Observable<Log> pendingFilterLogs(String address, String topic) {
+        return demultiplex(sharedLogs(sharedPendingLogs, address, true), topic);
+    }
+
+    public static Observable<Log> filterLogs(String address, String topic) {
+        return demultiplex(sharedLogs(sharedLogs, address, false), topic);
+    }
+
+    // logs of one event from any contract
+    public static Observable<Log> filterLogsByTopic(String topic) {
+        return sharedTopicLogs(topic)
+                .compose(LogDeduplicator.create())
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+
+    private static synchronized Observable<Log> sharedTopicLogs(String topic) {
+        Observable<Log> shared = sharedTopicLogs.get(topic);
+        if (shared != null) {
+            return shared;
+        }
+        shared = subscribedLogs(new Filter().addTopic(topic)).share();
+        sharedTopicLogs.put(topic, shared);
+        return shared;
+    }
+
+    private static Observable<Log> demultiplex(Observable<TopicLog> shared, String topic) {
+        return shared
+                .filter(topicLog -> topic.equals(topicLog.topic))
+                .map(topicLog -> topicLog.log)
+                .compose(LogDeduplicator.create())
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+
+    private static synchronized Observable<TopicLog> sharedLogs(Map<String, Observable<TopicLog>> cache, String address, boolean pending) {
+        String key = address.toLowerCase();
+        Observable<TopicLog> shared = cache.get(key);
+        if (shared != null) {
+            return shared;
+        }
+
+        Filter filter = new Filter().addAddress(address);
+        Observable<Log> logs = pending ? pendingLogs(filter) : subscribedLogs(filter);
+        // refCount releases the native filter when the last event observable is disposed
+        shared = logs
+                .map(TopicLog::new)
+                .filter(topicLog -> topicLog.topic != null)
+                .share();
+        cache.put(key, shared);
+        return shared;
+    }
+
+    private static Observable<Log> pendingLogs(Filter filter) {
+        filter.setFromBlock(GethConstants.LATEST_BLOCK);
+        filter.setToBlock(GethConstants.PENDING_BLOCK);
+        return Observable
+                .<Log>create(e -> {
+                    FilterPoller poller = new FilterPoller(e, filter);
+                    e.setCancellable(poller::dispose);
+                    poller.start();
+                })
+                .subscribeOn(Schedulers.io());
+    }
+
+    private static Observable<Log> subscribedLogs(Filter filter) {
+        return Observable
+                .<Log>create(emitter -> {
+                    FilterSubscriber subscriber = new FilterSubscriber(emitter, filter);
+                    emitter.setCancellable(subscriber::unsubscribe);
+                    subscriber.subscribe();
+                })
+                .subscribeOn(Schedulers.io());
+    }
+
     public static Observable<Log> pendingFilterLogs(Filter filter) {
         // pending block setup
         filter.setFromBlock(GethConstants.LATEST_BLOCK);
@@ -44,9 +139,10 @@ public class FilterManager {
         return Observable
                 .<Log>create(e -> {
                     FilterPoller poller = new FilterPoller(e, filter);
-                    poller.poll();
+                    e.setCancellable(poller::dispose);
+                    poller.start();
                 })
-                .distinct(log -> log.getTxHash().getHex()) // prevent duplicated event occurring
+                .compose(LogDeduplicator.create()) // prevent duplicated event occurring
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread());
     }
@@ -55,20 +151,84 @@ public class FilterManager {
         return Observable
                 .<Log>create(emitter -> {
                     FilterSubscriber subscriber = new FilterSubscriber(emitter, filter);
+                    emitter.setCancellable(subscriber::unsubscribe);
                     subscriber.subscribe();
                 })
-                .distinct(log -> log.getTxHash().getHex())
+                .compose(LogDeduplicator.create())
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread());
     }
 
+    // logs already in the chain, read once from the filter's block range
+    public static Observable<Log> pastFilterLogs(Filter filter) {
+        return Observable
+                .<Log>create(emitter -> {
+                    Logs logs = GethManager.getClient().filterLogs(GethManager.getMainContext(), filter.query);
+                    for (int i = 0; i < logs.size(); i++) {
+                        emitter.onNext(logs.get(i));
+                    }
+                    emitter.onComplete();
+                })
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+
+    public static Histogram getPollLatencyHistogram() {
+        return pollLatency;
+    }
+
+    public static Histogram getLogsPerTickHistogram() {
+        return logsPerTick;
+    }
+
+    private static synchronized void register(FilterPoller poller) {
+        pollers.add(poller);
+        lastActivity = System.currentTimeMillis();
+        if (!ticking) {
+            ticking = true;
+            scheduleTick(ACTIVE_POLLING_PERIOD);
+        }
+    }
+
+    private static void unregister(FilterPoller poller) {
+        // the tick stops by itself once no poller is left
+        pollers.remove(poller);
+    }
+
+    private static void scheduleTick(long delay) {
+        pollScheduler.scheduleDirect(FilterManager::tick, delay, TimeUnit.MILLISECONDS);
+    }
+
+    // every pending filter is polled back to back on the poll thread, then the next tick is scheduled
+    private static void tick() {
+        long start = System.currentTimeMillis();
+        int count = 0;
+        for (FilterPoller poller : pollers) {
+            count += poller.poll();
+        }
+        long end = System.currentTimeMillis();
+        pollLatency.record(end - start);
+        logsPerTick.record(count);
+        if (count > 0) {
+            lastActivity = end;
+        }
+
+        synchronized (FilterManager.class) {
+            if (pollers.isEmpty()) {
+                ticking = false;
+                return;
+            }
+            scheduleTick(end - lastActivity < ACTIVE_WINDOW ? ACTIVE_POLLING_PERIOD : IDLE_POLLING_PERIOD);
+        }
+    }
+
     private static class FilterPoller {
         private final Context context;
         private EthereumClient client;
         private ObservableEmitter<Log> emitter;
         private BigInt filter;
 
-        private Disposable disposable;
+        private boolean disposed = false;
 
         FilterPoller(ObservableEmitter<Log> emitter, Filter filter) throws Exception {
             this.client = GethManager.getClient();
@@ -77,33 +237,56 @@ public class FilterManager {
             this.filter = this.client.getNewFilter(this.context, filter.query);
         }
 
-        void poll() {
-            disposable = Observable.interval(POLLING_PERIOD, TimeUnit.MILLISECONDS)
-                    .flatMap(n -> {
-                        Logs logs = client.getFilterChanges(context, filter);
-
-                        ArrayList<Log> list = new ArrayList<>();
-                        for (int i = 0; i < logs.size(); i++) {
-                            list.add(logs.get(i));
-                        }
-                        return Observable.fromIterable(list);
-                    })
-                    .subscribe(log -> {
-                        if (emitter.isDisposed()) {
-                            dispose();
-                            return;
-                        }
-                        android.util.Log.d(TAG, "address : " + log.getAddress().getHex()
-                                + ", tx : " + log.getTxHash().getHex()
-                                + ", filter : " + filter.getInt64()
-                                + ", data : " + Utils.byteToHex(log.getData()));
-                        emitter.onNext(log);
-                    });
+        void start() {
+            register(this);
+        }
+
+        // returns the number of logs emitted
+        int poll() {
+            if (emitter.isDisposed()) {
+                try {
+                    dispose();
+                } catch (Exception e) {
+                    android.util.Log.e(TAG, "fail to uninstall filter : " + e.getMessage());
+                }
+                return 0;
+            }
+
+            Logs logs;
+            try {
+                logs = client.getFilterChanges(context, filter);
+            } catch (Exception e) {
+                android.util.Log.e(TAG, "fail to get filter changes : " + e.getMessage());
+                return 0;
+            }
+
+            int count = 0;
+            for (int i = 0; i < logs.size(); i++) {
+                Log log;
+                try {
+                    log = logs.get(i);
+                } catch (Exception e) {
+                    continue;
+                }
+                if (BuildConfig.DEBUG) {
+                    android.util.Log.d(TAG, "address : " + log.getAddress().getHex()
+                            + ", tx : " + log.getTxHash().getHex()
+                            + ", filter : " + filter.getInt64()
+                            + ", data : " + Utils.byteToHex(log.getData()));
+                }
+                emitter.onNext(log);
+                count++;
+            }
+            return count;
         }
 
-        private void dispose() throws Exception {
+        private synchronized void dispose() throws Exception {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            unregister(this);
             client.uninstallFilter(context, filter);
-            disposable.dispose();
         }
 
     }
@@ -155,6 +338,24 @@ public class FilterManager {
                     handler,
                     DEFAULT_BUFFER_SIZE);
         }
+
+        void unsubscribe() {
+            if (subscription != null) {
+                subscription.unsubscribe();
+                subscription = null;
+            }
+        }
+    }
+
+    private static class TopicLog {
+        private final String topic;
+        private final Log log;
+
+        TopicLog(Log log) throws Exception {
+            Hashes topics = log.getTopics();
+            this.topic = topics == null || topics.size() == 0 ? null : topics.get(0).getHex();
+            this.log = log;
+        }
     }
 
     public static class Filter {
@@ -164,7 +365,7 @@ public class FilterManager {
         }
 
         public Filter(Event event, String address) {
-            addTopic(EventEncoder.encode(event));
+            addTopic(EventRegistry.getTopic(event));
             addAddress(address);
         }
 
@@ -192,6 +393,11 @@ public class FilterManager {
             return this;
         }
 
+        public Filter setFromBlock(long block) {
+            query.setFromBlock(new BigInt(block));
+            return this;
+        }
+
         public Filter setToBlock(int block) {
             query.setToBlock(new BigInt(block));
             return this;
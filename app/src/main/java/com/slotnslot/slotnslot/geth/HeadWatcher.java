@@ -0,0 +1,62 @@
+package com.slotnslot.slotnslot.geth;
+
+import org.ethereum.geth.Header;
+import org.ethereum.geth.NewHeadHandler;
+import org.ethereum.geth.Subscription;
+
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Observable;
+import io.reactivex.schedulers.Schedulers;
+
+// one native new head subscription, shared while anybody listens
+public class HeadWatcher {
+    private static final String TAG = HeadWatcher.class.getSimpleName();
+
+    private static final int DEFAULT_BUFFER_SIZE = 16;
+    private static final long RESUBSCRIBE_DELAY = 5000; // ms
+
+    private static volatile long latestBlock = -1;
+
+    private static final Observable<Header> heads = Observable
+            .<Header>create(emitter -> {
+                Subscription subscription = GethManager.getClient().subscribeNewHead(
+                        GethManager.getMainContext(),
+                        new NewHeadHandler() {
+                            @Override
+                            public void onError(String error) {
+                                if (!emitter.isDisposed()) {
+                                    emitter.onError(new GethException(error));
+                                }
+                            }
+
+                            @Override
+                            public void onNewHead(Header header) {
+                                latestBlock = header.getNumber();
+                                if (!emitter.isDisposed()) {
+                                    emitter.onNext(header);
+                                }
+                            }
+                        },
+                        DEFAULT_BUFFER_SIZE);
+                emitter.setCancellable(subscription::unsubscribe);
+            })
+            .subscribeOn(Schedulers.io())
+            .retryWhen(errors -> errors.flatMap(e -> {
+                android.util.Log.e(TAG, "new head subscription error : " + e.getMessage());
+                return Observable.timer(RESUBSCRIBE_DELAY, TimeUnit.MILLISECONDS);
+            }))
+            .share();
+
+    private HeadWatcher() {
+    }
+
+    public static Observable<Header> heads() {
+        return heads;
+    }
+
+    // -1 until the first head arrived
+    public static long getLatestBlock() {
+        return latestBlock;
+    }
+}
@@ -0,0 +1,54 @@
+package com.slotnslot.slotnslot.geth;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class Histogram {
+    private final long[] bounds;
+    private final AtomicLongArray counts;
+
+    // bounds are inclusive upper limits, the last bucket counts everything above them
+    public Histogram(long... bounds) {
+        this.bounds = Arrays.copyOf(bounds, bounds.length);
+        Arrays.sort(this.bounds);
+        this.counts = new AtomicLongArray(bounds.length + 1);
+    }
+
+    public void record(long value) {
+        int i = 0;
+        while (i < bounds.length && value > bounds[i]) {
+            i++;
+        }
+        counts.incrementAndGet(i);
+    }
+
+    public long getCount(int bucket) {
+        return counts.get(bucket);
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < counts.length(); i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(i < bounds.length ? "<=" + bounds[i] : ">" + bounds[bounds.length - 1])
+                    .append(" : ")
+                    .append(counts.get(i));
+        }
+        return builder.append("}").toString();
+    }
+}
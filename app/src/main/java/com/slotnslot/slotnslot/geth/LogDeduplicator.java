@@ -0,0 +1,140 @@
+package com.slotnslot.slotnslot.geth;
+
+import com.slotnslot.slotnslot.BuildConfig;
+
+import org.ethereum.geth.Hashes;
+import org.ethereum.geth.Log;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.ObservableTransformer;
+
+public class LogDeduplicator implements ObservableTransformer<Log, Log> {
+    private static final String TAG = LogDeduplicator.class.getSimpleName();
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final long DEFAULT_DEPTH = 64; // blocks
+
+    private final int capacity;
+    private final long depth;
+
+    public LogDeduplicator(int capacity, long depth) {
+        this.capacity = capacity;
+        this.depth = depth;
+    }
+
+    public static LogDeduplicator create() {
+        return new LogDeduplicator(DEFAULT_CAPACITY, DEFAULT_DEPTH);
+    }
+
+    @Override
+    public ObservableSource<Log> apply(Observable<Log> upstream) {
+        return Observable.defer(() -> {
+            Window window = new Window(capacity, depth);
+            return upstream.filter(log -> window.accept(
+                    log.getTxHash().getHex(),
+                    log.getIndex(),
+                    content(log),
+                    log.getBlockHash().getHex(),
+                    log.getBlockNumber()));
+        });
+    }
+
+    // a log's index counts within the block, so a pending log and its mined copy rarely share it.
+    // geth does not expose the position within the transaction, the topics and data stand in for it:
+    // two logs of one transaction with equal topics and data count as one.
+    private static String content(Log log) throws Exception {
+        StringBuilder builder = new StringBuilder();
+        Hashes topics = log.getTopics();
+        for (int i = 0; topics != null && i < topics.size(); i++) {
+            builder.append(topics.get(i).getHex()).append(',');
+        }
+        builder.append(Utils.byteToHex(log.getData()));
+        return builder.toString();
+    }
+
+    private static class Seen {
+        private String blockHash;
+        private long blockNumber;
+
+        Seen(String blockHash, long blockNumber) {
+            this.blockHash = blockHash;
+            this.blockNumber = blockNumber;
+        }
+    }
+
+    // (txHash, topics and data) -> block the log was last seen in, oldest access first
+    static class Window extends LinkedHashMap<String, Seen> {
+        private final int capacity;
+        private final long depth;
+        private long highestBlock = 0;
+
+        Window(int capacity, long depth) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.depth = depth;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Seen> eldest) {
+            return size() > capacity;
+        }
+
+        // index is only logged, it changes when a pending log is mined
+        synchronized boolean accept(String txHash, long index, String content, String blockHash, long blockNumber) {
+            String key = txHash + ":" + content;
+            if (blockNumber > highestBlock) {
+                highestBlock = blockNumber;
+                evictOlderThan(highestBlock - depth);
+            }
+
+            Seen seen = get(key);
+            if (seen == null) {
+                put(key, new Seen(blockHash, blockNumber));
+                return true;
+            }
+            if (seen.blockHash.equals(blockHash)) {
+                return false;
+            }
+
+            boolean wasPending = isPending(seen.blockHash);
+            seen.blockHash = blockHash;
+            seen.blockNumber = blockNumber;
+            if (wasPending || isPending(blockHash)) {
+                // the pending log got mined, it was already delivered once
+                return false;
+            }
+            // the block it was included in got replaced
+            if (BuildConfig.DEBUG) {
+                android.util.Log.d(TAG, "log " + txHash + ":" + index + " re-included in block " + blockNumber);
+            }
+            return true;
+        }
+
+        private void evictOlderThan(long blockNumber) {
+            Iterator<Seen> iterator = values().iterator();
+            while (iterator.hasNext()) {
+                Seen seen = iterator.next();
+                if (!isPending(seen.blockHash) && seen.blockNumber < blockNumber) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        private static boolean isPending(String blockHash) {
+            if (blockHash == null || blockHash.isEmpty()) {
+                return true;
+            }
+            for (int i = blockHash.startsWith("0x") ? 2 : 0; i < blockHash.length(); i++) {
+                if (blockHash.charAt(i) != '0') {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.slotnslot.slotnslot.geth;
+
+import org.ethereum.geth.Address;
+import org.ethereum.geth.Hash;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class NonceManager {
+    private static final String TAG = NonceManager.class.getSimpleName();
+
+    private final Address address;
+    private long next;
+    private boolean synced = false;
+
+    // nonces handed out but not sent yet
+    private final Set<Long> reserved = new HashSet<>();
+    // tx hash -> nonce of transactions sent but not mined yet
+    private final Map<String, Long> inFlight = new HashMap<>();
+
+    public NonceManager(Address address) {
+        this.address = address;
+    }
+
+    public synchronized long sync() {
+        try {
+            next = GethManager.getClient().getPendingNonceAt(GethManager.getMainContext(), address);
+            synced = true;
+            return next;
+        } catch (Exception e) {
+            throw new GethException("fail to sync nonce.", e);
+        }
+    }
+
+    public synchronized long peek() {
+        return next;
+    }
+
+    public synchronized long reserve() {
+        // other reservations would be handed out twice if we resynced under them
+        if (!synced && reserved.isEmpty()) {
+            sync();
+        }
+        long nonce = next++;
+        reserved.add(nonce);
+        return nonce;
+    }
+
+    // the transaction leaves the queue once its receipt is in or the wait for it times out,
+    // whether or not the sender waits for the receipt itself
+    public void sent(long nonce, Hash txHash) {
+        String hex = txHash.getHex();
+        synchronized (this) {
+            reserved.remove(nonce);
+            inFlight.put(hex, nonce);
+        }
+        ReceiptTracker
+                .track(txHash)
+                .subscribe(receipt -> mined(hex), e -> mined(hex));
+    }
+
+    private synchronized void mined(String txHash) {
+        inFlight.remove(txHash);
+    }
+
+    // the transaction with this nonce was never accepted by the node
+    public synchronized void release(long nonce, Throwable cause) {
+        reserved.remove(nonce);
+        if (RetryPolicy.ErrorType.classify(cause) == RetryPolicy.ErrorType.NONCE) {
+            android.util.Log.d(TAG, "nonce " + nonce + " rejected, resync : " + cause.getMessage());
+            synced = false;
+            return;
+        }
+        if (nonce == next - 1) {
+            next = nonce;
+        } else if (nonce < next) {
+            // later nonces are already handed out, the gap has to be filled from the pending state
+            synced = false;
+        }
+    }
+
+    public synchronized int getQueueDepth() {
+        return reserved.size() + inFlight.size();
+    }
+}
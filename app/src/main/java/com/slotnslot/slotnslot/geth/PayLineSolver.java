@@ -0,0 +1,244 @@
+package com.slotnslot.slotnslot.geth;
+
+import com.slotnslot.slotnslot.models.DrawingLine;
+import com.slotnslot.slotnslot.models.PayLineTuple;
+import com.slotnslot.slotnslot.models.SlotResultDrawingLine;
+import com.slotnslot.slotnslot.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// lays the pay line tuples of a slot result out on the 5x3 reels.
+// a reel cell is bit (reel * 3 + row) of a short, so overlap tests are single ands.
+// a layout only depends on (lineNum, slotResult) and is solved once per pair.
+public class PayLineSolver {
+    private static final int REELS = 5;
+    private static final int ROWS = 3;
+    private static final int MIN_PAY_LENGTH = 3;
+    private static final int MAX_NODES = 200000; // search budget before falling back to big win
+
+    private static final SlotResultDrawingLine BIGWIN = new SlotResultDrawingLine(SlotResultDrawingLine.Drawable.BIGWIN, null, null);
+
+    // LINE_MASKS[line][length] covers the first length cells of the line
+    private static final short[][] LINE_MASKS = new short[Constants.WIN_LINE.length][REELS + 1];
+    // STOP_MASKS[line][length] is the cell right after them, 0 for a full line
+    private static final short[][] STOP_MASKS = new short[Constants.WIN_LINE.length][REELS + 1];
+
+    static {
+        for (int line = 0; line < Constants.WIN_LINE.length; line++) {
+            int mask = 0;
+            for (int length = 1; length <= REELS; length++) {
+                mask |= cell(length - 1, Constants.WIN_LINE[line][length - 1]);
+                LINE_MASKS[line][length] = (short) mask;
+                STOP_MASKS[line][length] = length < REELS ? (short) cell(length, Constants.WIN_LINE[line][length]) : 0;
+            }
+        }
+    }
+
+    private static final ResultCache[] caches = new ResultCache[Constants.WIN_LINE.length + 1];
+
+    private PayLineSolver() {
+    }
+
+    public static SlotResultDrawingLine getDrawLine(int lineNum, int slotResult) {
+        if (lineNum <= 0 || lineNum > Constants.WIN_LINE.length) {
+            return BIGWIN;
+        }
+        ResultCache cache;
+        synchronized (caches) {
+            cache = caches[lineNum];
+            if (cache == null) {
+                cache = caches[lineNum] = new ResultCache();
+            }
+        }
+        SlotResultDrawingLine result = cache.get(slotResult);
+        if (result == null) {
+            result = search(lineNum, slotResult);
+            cache.put(slotResult, result);
+        }
+        return result;
+    }
+
+    // the same layout as getDrawLine, searched again on every call
+    public static SlotResultDrawingLine solve(int lineNum, int slotResult) {
+        if (lineNum <= 0 || lineNum > Constants.WIN_LINE.length) {
+            return BIGWIN;
+        }
+        return search(lineNum, slotResult);
+    }
+
+    private static SlotResultDrawingLine search(int lineNum, int slotResult) {
+        List<PayLineTuple> payLineTuples = PayLineTable.getPayLineTuples(slotResult);
+        if (payLineTuples == null || payLineTuples.isEmpty() || lineNum < payLineTuples.size()) {
+            return BIGWIN;
+        }
+
+        int symbolCount = Constants.items.length;
+        int[] symbolLines = new int[symbolCount];
+        for (PayLineTuple payLineTuple : payLineTuples) {
+            symbolLines[payLineTuple.SYMBOL_INDEX]++;
+        }
+        boolean sameSymbol = false;
+        for (int count : symbolLines) {
+            sameSymbol |= count >= 2;
+        }
+        if (!sameSymbol && payLineTuples.size() > 3) {
+            return BIGWIN;
+        }
+
+        // most constrained first: symbols with more lines, then longer lines
+        PayLineTuple[] order = payLineTuples.toArray(new PayLineTuple[payLineTuples.size()]);
+        Arrays.sort(order, (a, b) -> {
+            if (symbolLines[a.SYMBOL_INDEX] != symbolLines[b.SYMBOL_INDEX]) {
+                return symbolLines[b.SYMBOL_INDEX] - symbolLines[a.SYMBOL_INDEX];
+            }
+            if (a.SYMBOL_INDEX != b.SYMBOL_INDEX) {
+                return a.SYMBOL_INDEX - b.SYMBOL_INDEX;
+            }
+            return b.LENGTH - a.LENGTH;
+        });
+
+        Search search = new Search(lineNum, order, symbolCount);
+        if (!search.place(0)) {
+            return BIGWIN;
+        }
+
+        Integer[][] slotLines = new Integer[REELS][ROWS];
+        for (Integer[] reel : slotLines) {
+            Arrays.fill(reel, Constants.UNDEFINE);
+        }
+        ArrayList<DrawingLine> drawingLines = new ArrayList<>(order.length);
+        for (int i = 0; i < order.length; i++) {
+            int line = search.lines[i];
+            for (int reel = 0; reel < order[i].LENGTH; reel++) {
+                slotLines[reel][Constants.WIN_LINE[line][reel]] = order[i].SYMBOL_INDEX;
+            }
+            drawingLines.add(new DrawingLine(Constants.WIN_LINE[line][REELS], order[i].SYMBOL_INDEX, order[i].LENGTH));
+        }
+        return new SlotResultDrawingLine(SlotResultDrawingLine.Drawable.DRAWABLE, slotLines, drawingLines);
+    }
+
+    private static int cell(int reel, int row) {
+        return 1 << (reel * ROWS + row);
+    }
+
+    private static class Search {
+        private final int lineNum;
+        private final int[] symbols;
+        private final int[] lengths;
+        private final int[] lines;
+        private final int[] symbolMasks; // cells showing each symbol
+        private final int[] stopMasks; // cells that must not show each symbol
+        private int usedLines;
+        private int occupied;
+        private int nodes;
+
+        Search(int lineNum, PayLineTuple[] order, int symbolCount) {
+            this.lineNum = lineNum;
+            this.symbols = new int[order.length];
+            this.lengths = new int[order.length];
+            this.lines = new int[order.length];
+            this.symbolMasks = new int[symbolCount];
+            this.stopMasks = new int[symbolCount];
+            for (int i = 0; i < order.length; i++) {
+                symbols[i] = order[i].SYMBOL_INDEX;
+                lengths[i] = order[i].LENGTH;
+            }
+        }
+
+        boolean place(int index) {
+            if (index == symbols.length) {
+                return noStrayWin();
+            }
+            int symbol = symbols[index];
+            int length = lengths[index];
+            // identical tuples are interchangeable, only try their lines in increasing order
+            int first = index > 0 && symbols[index - 1] == symbol && lengths[index - 1] == length ? lines[index - 1] + 1 : 0;
+            for (int line = first; line < lineNum; line++) {
+                if ((usedLines & (1 << line)) != 0) {
+                    continue;
+                }
+                if (++nodes > MAX_NODES) {
+                    return false;
+                }
+                int mask = LINE_MASKS[line][length];
+                int stop = STOP_MASKS[line][length];
+                if ((mask & occupied & ~symbolMasks[symbol]) != 0) {
+                    continue; // another symbol is already there
+                }
+                if ((mask & stopMasks[symbol]) != 0 || (stop & symbolMasks[symbol]) != 0) {
+                    continue; // a line of this symbol would pay longer than it does
+                }
+
+                int previousSymbolMask = symbolMasks[symbol];
+                int previousStopMask = stopMasks[symbol];
+                int previousOccupied = occupied;
+                symbolMasks[symbol] |= mask;
+                stopMasks[symbol] |= stop;
+                occupied |= mask;
+                usedLines |= 1 << line;
+                lines[index] = line;
+
+                if (place(index + 1)) {
+                    return true;
+                }
+
+                symbolMasks[symbol] = previousSymbolMask;
+                stopMasks[symbol] = previousStopMask;
+                occupied = previousOccupied;
+                usedLines &= ~(1 << line);
+                if (nodes > MAX_NODES) {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        // a bet line that is not drawn must not pay by accident
+        private boolean noStrayWin() {
+            for (int line = 0; line < lineNum; line++) {
+                if ((usedLines & (1 << line)) != 0) {
+                    continue;
+                }
+                int mask = LINE_MASKS[line][MIN_PAY_LENGTH];
+                for (int symbolMask : symbolMasks) {
+                    if (symbolMask != 0 && (mask & ~symbolMask) == 0) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    // int keyed results without boxing, keys kept sorted like SparseArray
+    private static class ResultCache {
+        private int[] keys = new int[16];
+        private SlotResultDrawingLine[] values = new SlotResultDrawingLine[16];
+        private int size;
+
+        synchronized SlotResultDrawingLine get(int key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            return index >= 0 ? values[index] : null;
+        }
+
+        synchronized void put(int key, SlotResultDrawingLine value) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                values[index] = value;
+                return;
+            }
+            index = ~index;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            keys[index] = key;
+            values[index] = value;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.slotnslot.slotnslot.geth;
+
+import com.slotnslot.slotnslot.models.PayLineTuple;
+import com.slotnslot.slotnslot.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// pay line tuples of every reachable slot result, built once on first use.
+// a result is the sum of its lines' LINE_CASE_2000_VALUE, so with every value a multiple
+// of the smallest one the table is indexed by result / step.
+public class PayLineTable {
+    public static final int MAX_RESULT = Constants.LINE_CASE_2000_VALUE[0] * Constants.BET_MAX_LINE;
+
+    private static final int STEP = gcd(Constants.LINE_CASE_2000_VALUE);
+
+    private PayLineTable() {
+    }
+
+    private static class Holder {
+        private static final List<List<PayLineTuple>> TABLE = build();
+    }
+
+    // empty for 0, null when the result can not be laid out as pay lines
+    public static List<PayLineTuple> getPayLineTuples(int slotResult) {
+        if (slotResult == 0) {
+            return Collections.emptyList();
+        }
+        if (slotResult < 0 || slotResult > MAX_RESULT || slotResult % STEP != 0) {
+            return null;
+        }
+        return Holder.TABLE.get(slotResult / STEP);
+    }
+
+    private static List<List<PayLineTuple>> build() {
+        int size = MAX_RESULT / STEP + 1;
+        List<List<PayLineTuple>> table = new ArrayList<>(size);
+        int[] lineCases = new int[MAX_RESULT / Constants.LINE_CASE_2000_VALUE[Constants.LINE_CASE_2000_VALUE.length - 1] + 1];
+        int[][] duplicateList = new int[Constants.items.length][2];
+        for (int i = 0; i < size; i++) {
+            table.add(decompose(i * STEP, lineCases, duplicateList));
+        }
+        return Collections.unmodifiableList(table);
+    }
+
+    private static List<PayLineTuple> decompose(int slotResult, int[] lineCases, int[][] duplicateList) {
+        if (slotResult == 0) {
+            return Collections.emptyList();
+        }
+
+        // greedy over the line case values, largest first
+        int count = 0;
+        for (int i = 0; i < Constants.LINE_CASE_2000_VALUE.length && slotResult > 0; i++) {
+            while (slotResult >= Constants.LINE_CASE_2000_VALUE[i]) {
+                slotResult -= Constants.LINE_CASE_2000_VALUE[i];
+                lineCases[count++] = i;
+            }
+        }
+        if (slotResult != 0) {
+            return null;
+        }
+
+        // a line case can be shown by several symbols, pick the one the other lines use least
+        for (int[] duplicate : duplicateList) {
+            duplicate[0] = 0;
+            duplicate[1] = 0;
+        }
+        for (int i = 0; i < count; i++) {
+            for (int[] lineCase : Constants.LINE_CASE_2000[lineCases[i]]) {
+                duplicateList[lineCase[0]][0] += 1;
+                duplicateList[lineCase[0]][1] += lineCase[1];
+            }
+        }
+        List<PayLineTuple> payLineTuples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int minDuplicate = 100;
+            int minLength = 0;
+            int resultSymbol = Constants.UNDEFINE;
+            for (int[] lineCase : Constants.LINE_CASE_2000[lineCases[i]]) {
+                int symbol = lineCase[0];
+                if (minDuplicate > duplicateList[symbol][0]) {
+                    minDuplicate = duplicateList[symbol][0];
+                    minLength = duplicateList[symbol][1];
+                    resultSymbol = symbol;
+                } else if (minDuplicate == duplicateList[symbol][0] && minLength > duplicateList[symbol][1]) {
+                    minLength = duplicateList[symbol][1];
+                    resultSymbol = symbol;
+                }
+            }
+            for (int[] lineCase : Constants.LINE_CASE_2000[lineCases[i]]) {
+                if (resultSymbol == lineCase[0]) {
+                    payLineTuples.add(new PayLineTuple(resultSymbol, lineCase[1]));
+                }
+            }
+        }
+        return Collections.unmodifiableList(payLineTuples);
+    }
+
+    private static int gcd(int[] values) {
+        int result = 0;
+        for (int value : values) {
+            int a = result;
+            int b = value;
+            while (b != 0) {
+                int t = a % b;
+                a = b;
+                b = t;
+            }
+            result = a;
+        }
+        return result;
+    }
+}
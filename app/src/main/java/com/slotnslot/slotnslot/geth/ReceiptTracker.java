@@ -0,0 +1,144 @@
+package com.slotnslot.slotnslot.geth;
+
+import org.ethereum.geth.Block;
+import org.ethereum.geth.Hash;
+import org.ethereum.geth.Header;
+import org.ethereum.geth.Receipt;
+import org.ethereum.geth.Transactions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.SingleSubject;
+
+public class ReceiptTracker {
+    private static final String TAG = ReceiptTracker.class.getSimpleName();
+
+    // every in-flight transaction shares one new head subscription
+    private static final Map<String, Waiting> pending = new ConcurrentHashMap<>();
+    private static Disposable headDisposable;
+
+    private static class Waiting {
+        private final SingleSubject<Receipt> subject = SingleSubject.create();
+        private int waiters; // guarded by ReceiptTracker.class
+    }
+
+    private ReceiptTracker() {
+    }
+
+    public static Single<Receipt> track(Hash hash) {
+        if (hash == null) {
+            return Single.error(new GethException("getTransactionReceipt: hash is null."));
+        }
+        String hex = hash.getHex();
+        long start = System.currentTimeMillis();
+        long deadline = RetryPolicy.RECEIPT.getDeadline();
+        return Single
+                .defer(() -> {
+                    Waiting candidate = new Waiting();
+                    Waiting waiting = join(hex, candidate);
+                    if (waiting == candidate) {
+                        // the transaction may already be mined before the first head arrives
+                        resolve(hex);
+                    }
+                    // a timeout disposes this too, the hash is dropped once nobody waits for it
+                    return waiting.subject.doOnDispose(() -> leave(hex, waiting));
+                })
+                .subscribeOn(Schedulers.io())
+                .timeout(deadline, TimeUnit.MILLISECONDS, Single.error(new RetryTimeoutException("receipt of " + hex + " not found in " + deadline + "ms")))
+                .doOnSuccess(receipt -> RetryPolicy.RECEIPT.record(1, System.currentTimeMillis() - start))
+                .doOnError(e -> RetryPolicy.RECEIPT.record(1, System.currentTimeMillis() - start));
+    }
+
+    public static int getPendingCount() {
+        return pending.size();
+    }
+
+    // candidate when this caller is the first to wait for the hash, the existing entry otherwise
+    private static synchronized Waiting join(String hex, Waiting candidate) {
+        Waiting waiting = pending.get(hex);
+        if (waiting == null) {
+            waiting = candidate;
+            pending.put(hex, waiting);
+            ensureSubscribed();
+        }
+        waiting.waiters++;
+        return waiting;
+    }
+
+    private static synchronized void leave(String hex, Waiting waiting) {
+        if (--waiting.waiters == 0) {
+            pending.remove(hex, waiting);
+            unsubscribeIfIdle();
+        }
+    }
+
+    private static synchronized void ensureSubscribed() {
+        if (headDisposable != null) {
+            return;
+        }
+        headDisposable = HeadWatcher
+                .heads()
+                .observeOn(Schedulers.io())
+                .subscribe(ReceiptTracker::onHead, Throwable::printStackTrace);
+    }
+
+    private static synchronized void unsubscribeIfIdle() {
+        if (headDisposable == null || !pending.isEmpty()) {
+            return;
+        }
+        headDisposable.dispose();
+        headDisposable = null;
+    }
+
+    private static void onHead(Header header) {
+        if (pending.isEmpty()) {
+            unsubscribeIfIdle();
+            return;
+        }
+
+        List<String> mined = new ArrayList<>();
+        try {
+            Block block = GethManager.getClient().getBlockByNumber(GethManager.getMainContext(), header.getNumber());
+            Transactions transactions = block.getTransactions();
+            for (int i = 0; i < transactions.size(); i++) {
+                String hex = transactions.get(i).getHash().getHex();
+                if (pending.containsKey(hex)) {
+                    mined.add(hex);
+                }
+            }
+        } catch (Exception e) {
+            // block body is not available from peers, check every pending hash instead
+            android.util.Log.d(TAG, "fail to get block " + header.getNumber() + " : " + e.getMessage());
+            mined.addAll(pending.keySet());
+        }
+
+        for (String hex : mined) {
+            resolve(hex);
+        }
+        unsubscribeIfIdle();
+    }
+
+    private static void resolve(String hex) {
+        Waiting waiting = pending.get(hex);
+        if (waiting == null) {
+            return;
+        }
+        Receipt receipt;
+        try {
+            receipt = GethManager.getClient().getTransactionReceipt(GethManager.getMainContext(), new Hash(hex));
+        } catch (Exception e) {
+            // not mined yet or no suitable peers, wait for the next head
+            return;
+        }
+        if (receipt != null && pending.remove(hex, waiting)) {
+            waiting.subject.onSuccess(receipt);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.slotnslot.slotnslot.geth;
+
+import com.slotnslot.slotnslot.BuildConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class RetryPolicy {
+    private static final String TAG = RetryPolicy.class.getSimpleName();
+
+    // before the policies below, their histograms are built from these
+    private static final long[] ATTEMPT_BUCKETS = {1, 2, 3, 5, 10, 20, 40};
+    private static final long[] LATENCY_BUCKETS = {10, 50, 100, 500, 1000, 5000, 30 * 1000, 120 * 1000}; // ms
+
+    // the light client has no peers for a while after start, a call waits for them as long as it always did
+    private static final long NO_PEERS_DEADLINE = 200 * 1000; // ms
+
+    public static final RetryPolicy CALL = new Builder("call")
+            .initialDelay(20)
+            .maxDelay(1000)
+            .deadline(30 * 1000)
+            .noPeersDeadline(NO_PEERS_DEADLINE)
+            .retryOn(ErrorType.NO_PEERS, ErrorType.NOT_FOUND)
+            .build();
+    public static final RetryPolicy BALANCE = new Builder("balance")
+            .initialDelay(20)
+            .maxDelay(2000)
+            .deadline(30 * 1000)
+            .noPeersDeadline(NO_PEERS_DEADLINE)
+            .retryOn(ErrorType.NO_PEERS, ErrorType.NOT_FOUND)
+            .build();
+    public static final RetryPolicy SEND = new Builder("send")
+            .initialDelay(500)
+            .maxDelay(5000)
+            .deadline(60 * 1000)
+            .noPeersDeadline(NO_PEERS_DEADLINE)
+            .retryOn(ErrorType.NO_PEERS, ErrorType.NONCE)
+            .build();
+    // ReceiptTracker waits for mined heads instead of polling, only the deadline applies
+    public static final RetryPolicy RECEIPT = new Builder("receipt")
+            .deadline(200 * 1000)
+            .build();
+
+    // "attempts:sleep" -> policy, so every caller of the same fixed policy shares its histograms
+    private static final Map<String, RetryPolicy> fixedPolicies = new ConcurrentHashMap<>();
+
+    private final String name;
+    private long initialDelay = 1000; // ms
+    private long maxDelay = 5000; // ms
+    private double multiplier = 2.0;
+    private double jitter = 0.5;
+    private int maxAttempts = Integer.MAX_VALUE;
+    private long deadline = 200 * 1000; // ms
+    private long noPeersDeadline = -1; // ms, the deadline when unset
+    private Set<ErrorType> retryable = EnumSet.noneOf(ErrorType.class);
+
+    private final Histogram attemptHistogram = new Histogram(ATTEMPT_BUCKETS);
+    private final Histogram latencyHistogram = new Histogram(LATENCY_BUCKETS);
+
+    private RetryPolicy(String name) {
+        this.name = name;
+    }
+
+    public static RetryPolicy fixed(int attempts, long sleepDuration) {
+        String key = attempts + ":" + sleepDuration;
+        RetryPolicy policy = fixedPolicies.get(key);
+        if (policy != null) {
+            return policy;
+        }
+        policy = new Builder("fixed " + key)
+                .initialDelay(sleepDuration)
+                .maxDelay(sleepDuration)
+                .multiplier(1.0)
+                .jitter(0)
+                .maxAttempts(attempts)
+                .deadline(Long.MAX_VALUE)
+                .retryOn(ErrorType.NO_PEERS, ErrorType.NOT_FOUND)
+                .build();
+        RetryPolicy existing = fixedPolicies.putIfAbsent(key, policy);
+        return existing != null ? existing : policy;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getDeadline() {
+        return deadline;
+    }
+
+    public boolean isRetryable(ErrorType type) {
+        return retryable.contains(type);
+    }
+
+    // delay before the next try after the given (zero based) failed attempt
+    public long getDelay(int attempt) {
+        double delay = initialDelay * Math.pow(multiplier, attempt);
+        long capped = (long) Math.min(delay, maxDelay);
+        if (jitter <= 0 || capped <= 0) {
+            return capped;
+        }
+        long spread = (long) (capped * jitter);
+        return capped - spread + ThreadLocalRandom.current().nextLong(spread + 1);
+    }
+
+    // type is the error of the failed attempt, waiting for peers has its own deadline
+    public boolean canRetry(int attempts, long elapsed, long delay, ErrorType type) {
+        long limit = type == ErrorType.NO_PEERS && noPeersDeadline >= 0 ? noPeersDeadline : deadline;
+        return attempts < maxAttempts && elapsed + delay <= limit;
+    }
+
+    public void record(int attempts, long latency) {
+        attemptHistogram.record(attempts);
+        latencyHistogram.record(latency);
+    }
+
+    public Histogram getAttemptHistogram() {
+        return attemptHistogram;
+    }
+
+    public Histogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    // debug builds log the attempt and latency histograms of every policy that was used
+    public static void logStats() {
+        if (!BuildConfig.DEBUG) {
+            return;
+        }
+        List<RetryPolicy> policies = new ArrayList<>(Arrays.asList(CALL, BALANCE, SEND, RECEIPT));
+        policies.addAll(fixedPolicies.values());
+        for (RetryPolicy policy : policies) {
+            if (policy.attemptHistogram.getTotalCount() > 0) {
+                android.util.Log.d(TAG, policy.toString());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + " attempts : " + attemptHistogram + ", latency : " + latencyHistogram;
+    }
+
+    public enum ErrorType {
+        NO_PEERS,
+        NOT_FOUND,
+        INSUFFICIENT_FUNDS,
+        NONCE,
+        UNKNOWN;
+
+        public static ErrorType classify(Throwable e) {
+            if (e instanceof InsufficientFundException) {
+                return INSUFFICIENT_FUNDS;
+            }
+            String message = e.getMessage();
+            if (message == null) {
+                return UNKNOWN;
+            }
+            if (message.contains("no suitable peers")) {
+                return NO_PEERS;
+            }
+            if (message.contains("not found")) {
+                return NOT_FOUND;
+            }
+            if (message.contains("insufficient funds ")) {
+                return INSUFFICIENT_FUNDS;
+            }
+            if (message.contains("nonce too low") || message.contains("replacement transaction underpriced")) {
+                return NONCE;
+            }
+            return UNKNOWN;
+        }
+    }
+
+    public static class Builder {
+        private RetryPolicy policy;
+
+        public Builder(String name) {
+            policy = new RetryPolicy(name);
+        }
+
+        public Builder initialDelay(long initialDelay) {
+            policy.initialDelay = initialDelay;
+            return this;
+        }
+
+        public Builder maxDelay(long maxDelay) {
+            policy.maxDelay = maxDelay;
+            return this;
+        }
+
+        public Builder multiplier(double multiplier) {
+            policy.multiplier = multiplier;
+            return this;
+        }
+
+        // fraction of the delay that is randomized, 0 disables jitter
+        public Builder jitter(double jitter) {
+            policy.jitter = jitter;
+            return this;
+        }
+
+        public Builder maxAttempts(int maxAttempts) {
+            policy.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        public Builder deadline(long deadline) {
+            policy.deadline = deadline;
+            return this;
+        }
+
+        public Builder noPeersDeadline(long noPeersDeadline) {
+            policy.noPeersDeadline = noPeersDeadline;
+            return this;
+        }
+
+        public Builder retryOn(ErrorType... types) {
+            for (ErrorType type : types) {
+                policy.retryable.add(type);
+            }
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return policy;
+        }
+    }
+}
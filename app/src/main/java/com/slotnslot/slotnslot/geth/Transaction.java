@@ -2,6 +2,7 @@ package com.slotnslot.slotnslot.geth;
 
 import android.util.Log;
 
+import com.slotnslot.slotnslot.BuildConfig;
 import com.slotnslot.slotnslot.utils.Convert;
 
 import org.ethereum.geth.Account;
@@ -16,6 +17,7 @@ public class Transaction {
     public static final String TAG = Transaction.class.getSimpleName();
 
     private long nonce;
+    private boolean nonceReserved = false;
     private Account from;
     private Address to;
     private BigInteger value;
@@ -107,7 +109,8 @@ public class Transaction {
         if (to == null) throw new GethException();
         if (nonce == 0 && from != null) {
 //            nonce = GethManager.getClient().getPendingNonceAt(txContext, from.getAddress());
-            nonce = CredentialManager.getDefaultNonce();
+            nonce = CredentialManager.getDefaultNonceManager().reserve();
+            nonceReserved = true;
         }
         if (gas == null) {
             gas = GethConstants.DEFAULT_GAS_LIMIT;
@@ -140,33 +143,45 @@ public class Transaction {
         return ret;
     }
 
-    String call() throws Exception {
-        byte[] hexadecimalResult = GethManager.getClient().pendingCallContract(txContext, toCallMessage());
-        Log.d(TAG, "======= FIRST CALL DATA : " + Utils.byteToHex(hexadecimalResult));
+    byte[] call() throws Exception {
+        byte[] result = GethManager.getClient().pendingCallContract(txContext, toCallMessage());
 
         // this because first contract call returns null
-        if (hexadecimalResult == null) {
-            hexadecimalResult = GethManager.getClient().pendingCallContract(txContext, toCallMessage());
-            Log.d(TAG, "======= SECOND CALL DATA : " + Utils.byteToHex(hexadecimalResult));
+        if (result == null) {
+            result = GethManager.getClient().pendingCallContract(txContext, toCallMessage());
+            if (BuildConfig.DEBUG) {
+                Log.d(TAG, "======= SECOND CALL DATA : " + Utils.byteToHex(result));
+            }
         }
 
-        if (hexadecimalResult == null) {
-            return "0x";
+        if (result == null) {
+            return new byte[0];
         }
-        return Utils.byteToHex(hexadecimalResult);
+        return result;
     }
 
     Hash send() throws Exception {
-        org.ethereum.geth.Transaction raw = getRawTransaction();
-        org.ethereum.geth.Transaction signed = CredentialManager.getDefault().sign(raw);
-
-        // transaction.getHash().getHex() -> ???
-        // transaction.getSigHash().getHex() == signed.getSigHash().getHex()
-        // signed.getHash().getHex() -> fullhash
-
-        Log.d(TAG, "======= SENDING TX : nonce - " + signed.getNonce() + ", data - " + Utils.byteToHex(signed.getData()));
-        GethManager.getClient().sendTransaction(GethManager.getMainContext(), signed);
-        CredentialManager.updateDefaultNonce();
+        NonceManager nonceManager = CredentialManager.getDefaultNonceManager();
+        org.ethereum.geth.Transaction signed;
+        try {
+            org.ethereum.geth.Transaction raw = getRawTransaction();
+            signed = CredentialManager.getDefault().sign(raw);
+
+            // transaction.getHash().getHex() -> ???
+            // transaction.getSigHash().getHex() == signed.getSigHash().getHex()
+            // signed.getHash().getHex() -> fullhash
+
+            Log.d(TAG, "======= SENDING TX : nonce - " + signed.getNonce() + ", data - " + Utils.byteToHex(signed.getData()));
+            GethManager.getClient().sendTransaction(GethManager.getMainContext(), signed);
+        } catch (Exception e) {
+            if (nonceReserved) {
+                nonceManager.release(nonce, e);
+            }
+            throw e;
+        }
+        if (nonceReserved) {
+            nonceManager.sent(nonce, signed.getHash());
+        }
         return signed.getHash();
     }
 }
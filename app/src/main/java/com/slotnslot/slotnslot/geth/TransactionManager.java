@@ -5,15 +5,25 @@ import org.ethereum.geth.Hash;
 import org.ethereum.geth.Receipt;
 
 import java.math.BigInteger;
+import java.util.List;
+import java.util.concurrent.Executors;
 
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.schedulers.Schedulers;
 
 public class TransactionManager {
+    private static final String TAG = TransactionManager.class.getSimpleName();
+
+    private static final int MAX_CONCURRENT_CALLS = 8;
+    private static final Scheduler callScheduler = Schedulers.from(Executors.newFixedThreadPool(MAX_CONCURRENT_CALLS));
+
     private TransactionManager() {
     }
 
-    public static Observable<String> executeCall(BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value) {
-        return Utils.waitResponse(() -> new Transaction()
+    public static Observable<byte[]> executeCall(BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value) {
+        return Utils.waitResponse(RetryPolicy.CALL, () -> new Transaction()
                 .from(CredentialManager.getDefault().getAccount())
                 .to(to)
                 .value(value)
@@ -23,13 +33,35 @@ public class TransactionManager {
                 .call());
     }
 
+    // same call data against many contracts, pipelined on a bounded pool instead of one io thread per call.
+    // results are emitted in completion order and failed calls are skipped.
+    public static Observable<CallResult<byte[]>> executeCalls(List<String> addresses, String data) {
+        return Observable
+                .fromIterable(addresses)
+                .flatMap(to -> Utils
+                                .retryResponse(RetryPolicy.CALL, attempt -> new Transaction()
+                                        .from(CredentialManager.getDefault().getAccount())
+                                        .to(to)
+                                        .value(BigInteger.ZERO)
+                                        .gasPrice(BigInteger.ZERO)
+                                        .gasAmount(BigInteger.ZERO)
+                                        .data(data)
+                                        .call())
+                                .map(result -> new CallResult<>(to, result))
+                                .doOnError(e -> android.util.Log.e(TAG, "call to " + to + " failed : " + e.getMessage()))
+                                .onErrorResumeNext(Observable.empty())
+                                .subscribeOn(callScheduler),
+                        MAX_CONCURRENT_CALLS)
+                .observeOn(AndroidSchedulers.mainThread());
+    }
+
     public static Observable<Receipt> executeTransaction(BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value) {
         return sendTransaction(gasPrice, gasLimit, to, data, value)
                 .flatMap(TransactionManager::processResponse);
     }
 
     private static Observable<Hash> sendTransaction(BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value) {
-        return Utils.waitResponse(() -> new Transaction()
+        return Utils.waitResponse(RetryPolicy.SEND, () -> new Transaction()
                 .from(CredentialManager.getDefault().getAccount())
                 .to(to)
                 .value(value)
@@ -40,10 +72,10 @@ public class TransactionManager {
     }
 
     public static Observable<Receipt> processResponse(Hash hash) {
-        return Utils.waitResponse(() -> {
-            if (hash == null) throw new GethException("getTransactionReceipt: hash is null.");
-            return GethManager.getClient().getTransactionReceipt(GethManager.getMainContext(), new Hash(hash.getHex()));
-        });
+        return ReceiptTracker
+                .track(hash)
+                .toObservable()
+                .observeOn(AndroidSchedulers.mainThread());
     }
 
     public static Observable<BigInteger> getBalanceAt() {
@@ -51,7 +83,7 @@ public class TransactionManager {
     }
 
     public static Observable<BigInteger> getBalanceAt(Address address) {
-        return Utils.waitResponse(() -> new BigInteger(
+        return Utils.waitResponse(RetryPolicy.BALANCE, () -> new BigInteger(
                 GethManager
                         .getClient()
                         .getPendingBalanceAt(GethManager.getMainContext(), address)
@@ -59,7 +91,7 @@ public class TransactionManager {
     }
 
     public static Observable<Hash> sendFunds(String to, BigInteger value) {
-        return Utils.waitResponse(() -> new Transaction()
+        return Utils.waitResponse(RetryPolicy.SEND, () -> new Transaction()
                 .to(to)
                 .gasAmount(GethConstants.FUND_GAS_LIMIT)
                 .value(value)
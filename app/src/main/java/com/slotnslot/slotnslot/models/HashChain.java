@@ -0,0 +1,61 @@
+package com.slotnslot.slotnslot.models;
+
+import com.slotnslot.slotnslot.geth.GethException;
+import com.slotnslot.slotnslot.geth.Utils;
+
+import org.web3j.crypto.Hash;
+
+import java.util.Arrays;
+
+// sha3^i(root) for every i in [0, length], hashed once into one flat array.
+// get(i) equals Utils.generateRandom(root, i) without re-hashing from the root.
+public class HashChain {
+    private static final int HASH_SIZE = 32;
+
+    private final String root;
+    private final int length;
+    private final byte[] rootBytes;
+    private final byte[] links; // link i (i >= 1) at (i - 1) * HASH_SIZE
+
+    public HashChain(String root, int length) {
+        if (Utils.isEmpty(root)) {
+            throw new GethException("seed is empty");
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("negative chain length : " + length);
+        }
+        this.root = root;
+        this.length = length;
+        this.rootBytes = Utils.hexToByte(root);
+        this.links = new byte[length * HASH_SIZE];
+
+        byte[] sha = rootBytes;
+        for (int i = 0; i < length; i++) {
+            sha = Hash.sha3(sha);
+            System.arraycopy(sha, 0, links, i * HASH_SIZE, HASH_SIZE);
+        }
+    }
+
+    public byte[] get(int index) {
+        if (index < 0 || index > length) {
+            throw new IndexOutOfBoundsException("index " + index + " out of chain length " + length);
+        }
+        if (index == 0) {
+            return rootBytes.clone();
+        }
+        int offset = (index - 1) * HASH_SIZE;
+        return Arrays.copyOfRange(links, offset, offset + HASH_SIZE);
+    }
+
+    public boolean covers(String root, int index) {
+        return this.root.equals(root) && index >= 0 && index <= length;
+    }
+
+    public String getRoot() {
+        return root;
+    }
+
+    public int getLength() {
+        return length;
+    }
+}
@@ -317,13 +317,16 @@ public class PlaySlotViewModel {
 
                     Utils.showToast("game confirmed.");
 
-                    stopWatch.onNext(false);
-                    drawResultSubject.onNext(new DrawOption(winRate, previousBetEth, (index + 1) % 3));
-
-                    if (!isBanker()) {
-                        playerSeed.confirm(index);
-                        playerSeed.save(machine.getContractAddress());
-                    }
+                    // the result lets the player spin again, which reveals the next seed,
+                    // so it waits until this confirm is on disk
+                    Completable saved = isBanker() ? Completable.complete() : playerSeed.confirm(index, machine.getContractAddress());
+                    compositeDisposable.add(saved
+                            .onErrorComplete()
+                            .observeOn(AndroidSchedulers.mainThread())
+                            .subscribe(() -> {
+                                stopWatch.onNext(false);
+                                drawResultSubject.onNext(new DrawOption(winRate, previousBetEth, (index + 1) % 3));
+                            }));
                 }, Throwable::printStackTrace);
         compositeDisposable.add(disposable);
     }
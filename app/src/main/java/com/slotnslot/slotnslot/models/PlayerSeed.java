@@ -2,13 +2,16 @@ package com.slotnslot.slotnslot.models;
 
 import com.slotnslot.slotnslot.geth.Utils;
 import com.slotnslot.slotnslot.utils.Constants;
-import com.slotnslot.slotnslot.utils.StorageUtil;
+import com.slotnslot.slotnslot.utils.SeedJournal;
 
 import org.web3j.abi.datatypes.StaticArray;
 import org.web3j.abi.datatypes.generated.Bytes32;
 import org.web3j.crypto.Hash;
 
-import io.reactivex.Completable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import io.reactivex.Single;
 import io.reactivex.schedulers.Schedulers;
 import lombok.Getter;
@@ -38,14 +41,16 @@ public class PlayerSeed extends Seed {
         return getSeed(index);
     }
 
-    public void confirm(int idx) {
+    @Override
+    public boolean confirm(int idx) {
         if (index != idx) {
-            return;
+            return false;
         }
         super.confirm(index);
         bankerSeeds[index] = nextBankerSeed;
 
         index = ++index % 3;
+        return true;
     }
 
     public boolean isValidSeed(String bankerSeed) {
@@ -66,23 +71,49 @@ public class PlayerSeed extends Seed {
         bankerSeeds[2] = seed2;
     }
 
-    public void save(String slotAddress) {
-        Completable
-                .complete()
-                .observeOn(Schedulers.io())
-                .subscribe(() -> StorageUtil.save(Constants.PLAYER_SEED_KEY, slotAddress, this));
+    @Override
+    protected String getJournalKey() {
+        return Constants.PLAYER_SEED_KEY;
     }
 
     public static Single<Seed> load(String slotAddress) {
         return Single
-                .<Seed>create(e -> {
-                    PlayerSeed load = StorageUtil.load(Constants.PLAYER_SEED_KEY, slotAddress, PlayerSeed.class);
-                    if (load == null) {
-                        e.onSuccess(new PlayerSeed());
-                    } else {
-                        e.onSuccess(load);
-                    }
-                })
+                .<Seed>create(e -> e.onSuccess(restore(new PlayerSeed(), slotAddress, PlayerSeed.class)))
                 .subscribeOn(Schedulers.io());
     }
+
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        super.writeSnapshot(out);
+        out.writeInt(index);
+        for (String bankerSeed : bankerSeeds) {
+            SeedJournal.writeString(out, bankerSeed);
+        }
+        SeedJournal.writeString(out, nextBankerSeed);
+    }
+
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        super.readSnapshot(in);
+        index = in.readInt();
+        for (int i = 0; i < 3; i++) {
+            bankerSeeds[i] = SeedJournal.readString(in);
+        }
+        nextBankerSeed = SeedJournal.readString(in);
+    }
+
+    @Override
+    public void writeConfirm(DataOutput out, int idx) throws IOException {
+        super.writeConfirm(out, idx);
+        SeedJournal.writeString(out, bankerSeeds[idx]);
+    }
+
+    @Override
+    public int readConfirm(DataInput in) throws IOException {
+        int idx = super.readConfirm(in);
+        bankerSeeds[idx] = SeedJournal.readString(in);
+        nextBankerSeed = bankerSeeds[idx];
+        index = (idx + 1) % 3;
+        return idx;
+    }
 }
@@ -1,73 +1,130 @@
 package com.slotnslot.slotnslot.models;
 
-import com.slotnslot.slotnslot.geth.Utils;
 import com.slotnslot.slotnslot.utils.Constants;
+import com.slotnslot.slotnslot.utils.SeedJournal;
 import com.slotnslot.slotnslot.utils.StorageUtil;
 
 import org.web3j.abi.datatypes.StaticArray;
 import org.web3j.abi.datatypes.generated.Bytes32;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import io.reactivex.Completable;
 import io.reactivex.Single;
 import io.reactivex.schedulers.Schedulers;
 
 public class Seed {
+    public static final int CHAIN_LENGTH = 100;
+
     String[] seeds = new String[3];
     int[] repeats = new int[3];
 
-    public StaticArray<Bytes32> getInitialSeed() {
-        this.seeds[0] = String.valueOf(Math.random());
-        this.seeds[1] = String.valueOf(Math.random());
-        this.seeds[2] = String.valueOf(Math.random());
+    // rebuilt from seeds after load, never persisted
+    private transient HashChain[] chains = new HashChain[3];
 
-        this.repeats[0] = 100;
-        this.repeats[1] = 100;
-        this.repeats[2] = 100;
+    public StaticArray<Bytes32> getInitialSeed() {
+        for (int i = 0; i < 3; i++) {
+            this.seeds[i] = String.valueOf(Math.random());
+            this.repeats[i] = CHAIN_LENGTH;
+            chains()[i] = new HashChain(seeds[i], CHAIN_LENGTH);
+        }
 
         return new StaticArray<>(
-                new Bytes32(Utils.generateRandom(seeds[0], repeats[0]--)),
-                new Bytes32(Utils.generateRandom(seeds[1], repeats[1]--)),
-                new Bytes32(Utils.generateRandom(seeds[2], repeats[2]--))
+                new Bytes32(chain(0).get(repeats[0]--)),
+                new Bytes32(chain(1).get(repeats[1]--)),
+                new Bytes32(chain(2).get(repeats[2]--))
         );
     }
 
     public Bytes32 getSeed(int idx) {
-        return new Bytes32(Utils.generateRandom(selectSeed(idx), selectRepeat(idx)));
+        return new Bytes32(chain(idx).get(repeats[idx]));
     }
 
-    private String selectSeed(int idx) {
-        String seed = seeds[idx];
-        System.out.println("idx : " + idx + ", seed : " + seed);
-        return seed;
+    private HashChain[] chains() {
+        if (chains == null) {
+            chains = new HashChain[3];
+        }
+        return chains;
     }
 
-    private int selectRepeat(int idx) {
-        int repeat = repeats[idx];
-        System.out.println("idx : " + idx + ", repeat : " + repeat);
-        return repeat;
+    private HashChain chain(int idx) {
+        HashChain chain = chains()[idx];
+        if (chain == null || !chain.covers(seeds[idx], repeats[idx])) {
+            // repeats only count down, so a chain of the current length covers every later reveal
+            chain = new HashChain(seeds[idx], repeats[idx]);
+            chains[idx] = chain;
+        }
+        return chain;
     }
 
-    public void confirm(int idx) {
+    public boolean confirm(int idx) {
         repeats[idx]--;
+        return true;
+    }
+
+    // confirms and journals only the changed entry, completes once the entry is on disk
+    public Completable confirm(int idx, String slotAddress) {
+        if (!confirm(idx)) {
+            return Completable.complete();
+        }
+        return SeedJournal.of(getJournalKey(), slotAddress).confirm(this, idx);
     }
 
     public void save(String slotAddress) {
-        Completable
-                .complete()
-                .observeOn(Schedulers.io())
-                .subscribe(() -> StorageUtil.save(Constants.BANKER_SEED_KEY, slotAddress, this));
+        SeedJournal.of(getJournalKey(), slotAddress).snapshot(this);
+    }
+
+    protected String getJournalKey() {
+        return Constants.BANKER_SEED_KEY;
     }
 
     public static Single<Seed> load(String slotAddress) {
         return Single
-                .<Seed>create(e -> {
-                    Seed load = StorageUtil.load(Constants.BANKER_SEED_KEY, slotAddress, Seed.class);
-                    if (load == null) {
-                        e.onSuccess(new Seed());
-                    } else {
-                        e.onSuccess(load);
-                    }
-                })
+                .<Seed>create(e -> e.onSuccess(restore(new Seed(), slotAddress, Seed.class)))
                 .subscribeOn(Schedulers.io());
     }
+
+    // the journal wins, gson preferences written by older versions are migrated once
+    protected static <T extends Seed> T restore(T seed, String slotAddress, Class<T> clazz) {
+        if (SeedJournal.of(seed.getJournalKey(), slotAddress).load(seed)) {
+            return seed;
+        }
+        T legacy = StorageUtil.load(seed.getJournalKey(), slotAddress, clazz);
+        if (legacy == null) {
+            return seed;
+        }
+        legacy.save(slotAddress);
+        return legacy;
+    }
+
+    /**
+     * journal records
+     **/
+    public void writeSnapshot(DataOutput out) throws IOException {
+        for (int i = 0; i < 3; i++) {
+            SeedJournal.writeString(out, seeds[i]);
+            out.writeInt(repeats[i]);
+        }
+    }
+
+    public void readSnapshot(DataInput in) throws IOException {
+        for (int i = 0; i < 3; i++) {
+            seeds[i] = SeedJournal.readString(in);
+            repeats[i] = in.readInt();
+        }
+    }
+
+    public void writeConfirm(DataOutput out, int idx) throws IOException {
+        out.writeByte(idx);
+        out.writeInt(repeats[idx]);
+    }
+
+    // returns the confirmed idx
+    public int readConfirm(DataInput in) throws IOException {
+        int idx = in.readByte();
+        repeats[idx] = in.readInt();
+        return idx;
+    }
 }
@@ -2,6 +2,9 @@ package com.slotnslot.slotnslot.models;
 
 import com.slotnslot.slotnslot.geth.Utils;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 import java.math.BigInteger;
 
@@ -51,4 +54,60 @@ public class SlotRoom implements Serializable {
     public double getHitRatio() {
         return hitRatio * 100;
     }
+
+    /**
+     * binary form for the lobby store
+     **/
+    public void writeTo(DataOutput out) throws IOException {
+        writeString(out, address);
+        writeString(out, title);
+        out.writeDouble(hitRatio);
+        out.writeInt(maxWinPrize);
+        out.writeDouble(minBet);
+        out.writeDouble(maxBet);
+        out.writeInt(playTime);
+        writeString(out, playerAddress);
+        writeString(out, bankerAddress);
+        writeBigInteger(out, playerBalance);
+        writeBigInteger(out, bankerBalance);
+    }
+
+    public static SlotRoom readFrom(DataInput in) throws IOException {
+        SlotRoom slotRoom = new SlotRoom();
+        slotRoom.address = readString(in);
+        slotRoom.title = readString(in);
+        slotRoom.hitRatio = in.readDouble();
+        slotRoom.maxWinPrize = in.readInt();
+        slotRoom.minBet = in.readDouble();
+        slotRoom.maxBet = in.readDouble();
+        slotRoom.playTime = in.readInt();
+        slotRoom.playerAddress = readString(in);
+        slotRoom.bankerAddress = readString(in);
+        slotRoom.playerBalance = readBigInteger(in);
+        slotRoom.bankerBalance = readBigInteger(in);
+        return slotRoom;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeBigInteger(DataOutput out, BigInteger value) throws IOException {
+        byte[] bytes = value.toByteArray();
+        out.writeByte(bytes.length);
+        out.write(bytes);
+    }
+
+    private static BigInteger readBigInteger(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readUnsignedByte()];
+        in.readFully(bytes);
+        return new BigInteger(bytes);
+    }
 }
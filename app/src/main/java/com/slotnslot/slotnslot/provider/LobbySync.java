@@ -0,0 +1,234 @@
+package com.slotnslot.slotnslot.provider;
+
+import android.util.Log;
+
+import com.slotnslot.slotnslot.contract.SlotMachine;
+import com.slotnslot.slotnslot.contract.SlotMachineManager;
+import com.slotnslot.slotnslot.utils.LobbyStore;
+
+import org.web3j.abi.datatypes.Address;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.reactivex.Observable;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.disposables.CompositeDisposable;
+import io.reactivex.disposables.Disposable;
+
+// one full scan of the storage array, then the play lobby follows the manager's created / removed
+// events and every machine's occupied / left events. _totalNum of the manager events is checked
+// against the known array length, a gap means events were missed and triggers a rescan.
+// every callback arrives on the main thread.
+public class LobbySync {
+    private static final String TAG = LobbySync.class.getSimpleName();
+
+    private static final String EMPTY_PLAYER = new Address(BigInteger.ZERO).toString();
+
+    private static final CompositeDisposable disposables = new CompositeDisposable();
+    // rooms of live created events still being fetched, by address. a removed event cancels its fetch
+    private static final Map<String, Disposable> creating = new HashMap<>();
+    private static Disposable scanDisposable;
+    private static boolean running = false;
+    private static boolean scanning = false;
+    private static int knownTotal = -1;
+    private static int totalDuringScan = -1;
+
+    private LobbySync() {
+    }
+
+    public static int getKnownTotal() {
+        return knownTotal;
+    }
+
+    // snapshot is the lobby restored from disk, null scans from scratch
+    public static void start(LobbyStore.Snapshot snapshot) {
+        if (running) {
+            return;
+        }
+        running = true;
+
+        SlotMachineManager manager = RxSlotRooms.slotMachineManager;
+        disposables.add(manager
+                .slotMachineCreatedEventObservable()
+                .subscribe(LobbySync::onCreated, Throwable::printStackTrace));
+        disposables.add(manager
+                .slotMachineRemovedEventObservable()
+                .subscribe(LobbySync::onRemoved, Throwable::printStackTrace));
+        disposables.add(SlotMachine
+                .allGameOccupiedEvents()
+                .subscribe(LobbySync::onOccupied, Throwable::printStackTrace));
+        disposables.add(SlotMachine
+                .allPlayerLeftEvents()
+                .subscribe(LobbySync::onPlayerLeft, Throwable::printStackTrace));
+        if (snapshot == null) {
+            rescan();
+        } else {
+            catchUp(snapshot);
+        }
+    }
+
+    public static void stop() {
+        disposables.clear();
+        for (Disposable fetch : creating.values()) {
+            fetch.dispose();
+        }
+        creating.clear();
+        if (scanDisposable != null) {
+            scanDisposable.dispose();
+            scanDisposable = null;
+        }
+        running = false;
+        scanning = false;
+        knownTotal = -1;
+    }
+
+    // pull to refresh, only the array length is read unless it disagrees with the events
+    public static void refresh() {
+        if (!running) {
+            start(null);
+            return;
+        }
+        if (scanning) {
+            return;
+        }
+        RxSlotRooms.slotMachineStorageLoaded
+                .andThen(Observable.defer(() -> RxSlotRooms.slotMachineStorage.getLengthOfSlotMachinesArray()))
+                .subscribe(length -> {
+                    int total = length.getValue().intValue();
+                    if (running && !scanning && total != knownTotal) {
+                        Log.i(TAG, "lobby out of sync, known : " + knownTotal + ", storage : " + total);
+                        rescan();
+                    }
+                }, Throwable::printStackTrace);
+    }
+
+    private static void rescan() {
+        if (scanning) {
+            return;
+        }
+        scanning = true;
+        totalDuringScan = -1;
+        scanDisposable = RxSlotRooms
+                .scanPlaySlotMachines()
+                .subscribe(total -> {
+                    scanning = false;
+                    // an event that arrived mid scan is newer than the length the scan read
+                    knownTotal = totalDuringScan >= 0 ? totalDuringScan : total;
+                }, e -> {
+                    scanning = false;
+                    e.printStackTrace();
+                });
+    }
+
+    // replays the manager events mined after the snapshot's block, then fetches the restored rooms and the
+    // created ones that were not removed again in one go, so a late fetch can not bring back a removed room
+    private static void catchUp(LobbyStore.Snapshot snapshot) {
+        scanning = true;
+        totalDuringScan = -1;
+        int[] total = {snapshot.total};
+        Set<String> created = new LinkedHashSet<>();
+        SlotMachineManager manager = RxSlotRooms.slotMachineManager;
+        scanDisposable = Observable
+                .concat(
+                        manager.pastSlotMachineCreatedEvents(snapshot.block + 1).doOnNext(response -> {
+                            if (!isOwn(response)) {
+                                created.add(response._slotAddr.toString());
+                            }
+                            total[0]++;
+                        }),
+                        manager.pastSlotMachineRemovedEvents(snapshot.block + 1).doOnNext(response -> {
+                            String address = response._slotAddr.toString();
+                            created.remove(address);
+                            RxSlotRooms.removeSlot(address);
+                            total[0]--;
+                        }))
+                .ignoreElements()
+                .andThen(Observable.defer(() -> {
+                    Set<String> addresses = new LinkedHashSet<>(RxSlotRooms.getSlotAddresses());
+                    addresses.addAll(created);
+                    return RxSlotRooms.fetchSlotRooms(new ArrayList<>(addresses));
+                }))
+                .filter(slotRoom -> !AccountProvider.identical(slotRoom.getBankerAddress()))
+                .toList()
+                .subscribe(slotRooms -> {
+                    RxSlotRooms.addSlots(slotRooms);
+                    scanning = false;
+                    knownTotal = totalDuringScan >= 0 ? totalDuringScan : total[0];
+                    // the length check rescans if the replay missed anything
+                    refresh();
+                }, e -> {
+                    Log.e(TAG, "fail to catch up from block " + snapshot.block + " : " + e.getMessage());
+                    scanning = false;
+                    rescan();
+                });
+    }
+
+    private static void onCreated(SlotMachineManager.SlotMachineCreatedEventResponse response) {
+        if (!isOwn(response)) {
+            String address = response._slotAddr.toString();
+            cancelCreating(address);
+            creating.put(address, RxSlotRooms
+                    .fetchSlotRooms(Collections.singletonList(address))
+                    // on the thread onRemoved runs on, so a cancelled fetch can not add the room any more
+                    .observeOn(AndroidSchedulers.mainThread())
+                    .subscribe(RxSlotRooms::addSlot, e -> {
+                        creating.remove(address);
+                        e.printStackTrace();
+                    }, () -> creating.remove(address)));
+        }
+        reconcile(response._totalNum.getValue().intValue(), 1);
+    }
+
+    // the player lobby does not list the user's own machines
+    private static boolean isOwn(SlotMachineManager.SlotMachineCreatedEventResponse response) {
+        return AccountProvider.identical(response._banker.toString());
+    }
+
+    private static void onRemoved(SlotMachineManager.SlotMachineRemovedEventResponse response) {
+        String address = response._slotAddr.toString();
+        cancelCreating(address);
+        RxSlotRooms.removeSlot(address);
+        reconcile(response._totalNum.getValue().intValue(), -1);
+    }
+
+    private static void cancelCreating(String address) {
+        Disposable fetch = creating.remove(address);
+        if (fetch != null) {
+            fetch.dispose();
+        }
+    }
+
+    private static void onOccupied(SlotMachine.GameOccupiedEventResponse response) {
+        RxSlotRooms.updateSlot(response.address, slotRoom -> slotRoom.setPlayerAddress(response.player.toString()));
+    }
+
+    private static void onPlayerLeft(SlotMachine.PlayerLeftEventResponse response) {
+        RxSlotRooms.updateSlot(response.address, slotRoom -> {
+            slotRoom.setPlayerAddress(EMPTY_PLAYER);
+            slotRoom.setPlayerBalance(BigInteger.ZERO);
+        });
+    }
+
+    private static void reconcile(int total, int delta) {
+        if (scanning) {
+            totalDuringScan = total;
+            return;
+        }
+        if (total == knownTotal) {
+            // replayed event already counted in the restored total
+            return;
+        }
+        if (knownTotal >= 0 && total != knownTotal + delta) {
+            Log.i(TAG, "missed lobby events, known : " + knownTotal + ", event total : " + total);
+            rescan();
+            return;
+        }
+        knownTotal = total;
+    }
+}
@@ -13,6 +13,7 @@ import org.web3j.abi.datatypes.Address;
 import org.web3j.abi.datatypes.generated.Bytes32;
 import org.web3j.abi.datatypes.generated.Uint8;
 
+import io.reactivex.Completable;
 import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.reactivex.disposables.CompositeDisposable;
@@ -33,6 +34,8 @@ public class RxSlotRoom {
     private CompositeDisposable compositeDisposable = new CompositeDisposable();
     private boolean bankerEventInitialized = false;
     private Seed bankerSeed;
+    // the last confirm of bankerSeed, the next reveal waits until it is on disk
+    private Completable bankerSeedSaved = Completable.complete();
 
     public RxSlotRoom(SlotRoom slotRoom) {
         if (slotRoom == null || slotRoom.getAddress() == null) {
@@ -116,8 +119,7 @@ public class RxSlotRoom {
                     int index = response.idx.getValue().intValue();
                     Log.i(TAG, "idx : " + index);
 
-                    bankerSeed.confirm(index);
-                    bankerSeed.save(machine.getContractAddress());
+                    bankerSeedSaved = bankerSeed.confirm(index, machine.getContractAddress());
 
                     updateBalance();
                 }, Throwable::printStackTrace);
@@ -145,8 +147,9 @@ public class RxSlotRoom {
                     int index = response.idx.getValue().intValue();
                     Log.i(TAG, "idx : " + index);
 
-                    Single
-                            .<Bytes32>create(e -> e.onSuccess(bankerSeed.getSeed(index)))
+                    bankerSeedSaved
+                            .onErrorComplete()
+                            .andThen(Single.<Bytes32>create(e -> e.onSuccess(bankerSeed.getSeed(index))))
                             .toObservable()
                             .flatMap(bankerSeed -> machine.setBankerSeed(bankerSeed, new Uint8(index)))
                             .subscribeOn(Schedulers.computation())
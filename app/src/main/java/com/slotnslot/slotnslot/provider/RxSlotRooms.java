@@ -6,19 +6,32 @@ import com.slotnslot.slotnslot.contract.SlotMachine;
 import com.slotnslot.slotnslot.contract.SlotMachineManager;
 import com.slotnslot.slotnslot.contract.SlotMachineStorage;
 import com.slotnslot.slotnslot.geth.GethConstants;
+import com.slotnslot.slotnslot.geth.HeadWatcher;
 import com.slotnslot.slotnslot.geth.Utils;
+import com.slotnslot.slotnslot.models.Account;
 import com.slotnslot.slotnslot.models.SlotRoom;
 import com.slotnslot.slotnslot.utils.Convert;
+import com.slotnslot.slotnslot.utils.LobbyStore;
 
 import org.web3j.abi.datatypes.Address;
 import org.web3j.abi.datatypes.generated.Uint256;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+import io.reactivex.Completable;
+import io.reactivex.Maybe;
 import io.reactivex.Observable;
-import io.reactivex.subjects.BehaviorSubject;
+import io.reactivex.Single;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Consumer;
+import io.reactivex.schedulers.Schedulers;
 import io.reactivex.subjects.CompletableSubject;
 import lombok.Getter;
 
@@ -26,11 +39,14 @@ import lombok.Getter;
 public class RxSlotRooms {
     private static final String TAG = RxSlotRooms.class.getSimpleName();
 
-    public static Map<String, RxSlotRoom> rxSlotRoomMap = new HashMap<>();
-    public static BehaviorSubject<Map<String, RxSlotRoom>> rxSlotRoomMapSubject = BehaviorSubject.create();
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final long DIFF_WINDOW = 200; // ms
+    private static final long LOBBY_SAVE_DELAY = 5000; // ms after the last change
 
-    public static Map<String, RxSlotRoom> rxMakeSlotRoomMap = new HashMap<>();
-    public static BehaviorSubject<Map<String, RxSlotRoom>> rxMakeSlotRoomMapSubject = BehaviorSubject.create();
+    private static final int PAGE_CONCURRENCY = 4;
+
+    private static final SlotRoomRegistry playSlotRooms = new SlotRoomRegistry();
+    private static final SlotRoomRegistry makeSlotRooms = new SlotRoomRegistry();
 
     public static SlotMachineManager slotMachineManager = SlotMachineManager.load(GethConstants.getManagerAddress());
     public static SlotMachineStorage slotMachineStorage;
@@ -39,15 +55,50 @@ public class RxSlotRooms {
     public static int numberOfSlotMachine;
     public static int numberOfBanker;
 
+    private static int pageSize = DEFAULT_PAGE_SIZE;
+    private static Disposable lobbyStoreDisposable;
+
     private RxSlotRooms() {
     }
 
     public static RxSlotRoom getSlotRoom(String slotAddress) {
-        return rxSlotRoomMap.get(slotAddress);
+        return playSlotRooms.get(slotAddress);
     }
 
     public static RxSlotRoom getMakeSlotRoom(String slotAddress) {
-        return rxMakeSlotRoomMap.get(slotAddress);
+        return makeSlotRooms.get(slotAddress);
+    }
+
+    public static List<String> getSlotAddresses() {
+        return playSlotRooms.addresses();
+    }
+
+    // immutable snapshot of the play lobby after every change
+    public static Observable<Map<String, RxSlotRoom>> slotRoomMaps() {
+        return playSlotRooms.snapshots();
+    }
+
+    public static Observable<Map<String, RxSlotRoom>> makeSlotRoomMaps() {
+        return makeSlotRooms.snapshots();
+    }
+
+    public static void setPageSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("page size must be positive : " + size);
+        }
+        pageSize = size;
+    }
+
+    // the current lobby as one reset diff, then every change coalesced per window
+    public static Observable<SlotRoomsDiff> slotRoomDiffs() {
+        return Observable
+                .merge(
+                        playSlotRooms.diffs(),
+                        Observable.defer(() -> Observable.just(SlotRoomsDiff.reset(playSlotRooms.addresses()))))
+                .buffer(DIFF_WINDOW, TimeUnit.MILLISECONDS)
+                .filter(diffs -> !diffs.isEmpty())
+                .map(SlotRoomsDiff::merge)
+                .filter(diff -> !diff.isEmpty());
     }
 
     public static void init() {
@@ -57,25 +108,77 @@ public class RxSlotRooms {
                     slotMachineStorage = SlotMachineStorage.load(address.toString());
                     slotMachineStorageLoaded.onComplete();
                 }, Throwable::printStackTrace);
-        updateSlotMachines();
+        restorePlaySlotMachines();
+        updateMakeSlotMachines();
+    }
+
+    // the stored lobby is listed right away, LobbySync reconciles it once the node answers
+    private static void restorePlaySlotMachines() {
+        Maybe.fromCallable(LobbyStore::load)
+                .filter(snapshot -> snapshot.manager.equalsIgnoreCase(GethConstants.getManagerAddress())
+                        && AccountProvider.identical(snapshot.account))
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                        snapshot -> {
+                            Log.i(TAG, "restored " + snapshot.slotRooms.size() + " slots at block " + snapshot.block);
+                            addSlots(snapshot.slotRooms);
+                            LobbySync.start(snapshot);
+                        },
+                        e -> {
+                            e.printStackTrace();
+                            LobbySync.start(null);
+                        },
+                        () -> LobbySync.start(null));
+
+        if (lobbyStoreDisposable == null) {
+            lobbyStoreDisposable = playSlotRooms
+                    .diffs()
+                    .debounce(LOBBY_SAVE_DELAY, TimeUnit.MILLISECONDS)
+                    .observeOn(AndroidSchedulers.mainThread())
+                    .subscribe(diff -> savePlaySlotMachines(), Throwable::printStackTrace);
+        }
+    }
+
+    private static void savePlaySlotMachines() {
+        long block = HeadWatcher.getLatestBlock();
+        int total = LobbySync.getKnownTotal();
+        Account account = AccountProvider.getAccount();
+        if (block < 0 || total < 0 || account == null) {
+            // not reconciled with the chain yet
+            return;
+        }
+        Map<String, RxSlotRoom> rooms = playSlotRooms.snapshot();
+        List<SlotRoom> slotRooms = new ArrayList<>(rooms.size());
+        for (RxSlotRoom rxSlotRoom : rooms.values()) {
+            slotRooms.add(rxSlotRoom.getSlotRoom());
+        }
+        LobbyStore.Snapshot snapshot = new LobbyStore.Snapshot(GethConstants.getManagerAddress(), account.getAddressHex(), block, total, slotRooms);
+        Completable
+                .fromAction(() -> LobbyStore.save(snapshot))
+                .subscribeOn(Schedulers.io())
+                .subscribe(() -> {
+                }, Throwable::printStackTrace);
     }
 
     public static void destroy() {
+        if (lobbyStoreDisposable != null) {
+            lobbyStoreDisposable.dispose();
+            lobbyStoreDisposable = null;
+        }
+        LobbySync.stop();
         clearPlaySlot();
         clearMakeSlot();
     }
 
     public static void clearPlaySlot() {
-        rxSlotRoomMap.clear();
-        notifyChange();
+        playSlotRooms.clear();
     }
 
     public static void clearMakeSlot() {
-        for (RxSlotRoom rxSlotRoom : rxMakeSlotRoomMap.values()) {
+        for (RxSlotRoom rxSlotRoom : makeSlotRooms.clear()) {
             rxSlotRoom.removeBankerEvent();
         }
-        rxMakeSlotRoomMap.clear();
-        notifyMakeSlotChange();
     }
 
     public static void updateSlotMachines() {
@@ -83,111 +186,133 @@ public class RxSlotRooms {
         updateMakeSlotMachines();
     }
 
+    // the first call scans the storage array, later ones only reconcile through LobbySync
     public static void updatePlaySlotMachines() {
-        clearPlaySlot();
-
-//        SlotRoom test = new SlotRoom("test", "test", 0.15, 2000, 120.001, 1.050, "test", Convert.toWei(10, Convert.Unit.ETHER));
-//        test.setPlayerBalance(Convert.toWei(1, Convert.Unit.ETHER));
-//        addSlot(test);
+        LobbySync.refresh();
+    }
 
-        slotMachineStorageLoaded.subscribe(() -> slotMachineStorage
-                .getLengthOfSlotMachinesArray()
+    // pages through the storage array, each page is listed as soon as its infos arrive.
+    // rooms missing from the array once every page is read are removed.
+    // emits the array length the scan was based on.
+    static Single<Integer> scanPlaySlotMachines() {
+        int size = pageSize;
+        Set<String> seen = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        int[] total = new int[1];
+        return slotMachineStorageLoaded
+                .andThen(Observable.defer(() -> slotMachineStorage.getLengthOfSlotMachinesArray()))
                 .flatMap(length -> {
                     int slotLength = length.getValue().intValue();
                     Log.i(TAG, "length of slot machine array : " + slotLength);
-                    return slotMachineStorage.getSlotMachinesArray(new Uint256(0), new Uint256(slotLength - 1));
+                    total[0] = slotLength;
+                    return Observable.range(0, (slotLength + size - 1) / size)
+                            .map(page -> new int[]{page * size, Math.min(slotLength, (page + 1) * size) - 1});
                 })
-                .flatMap(dynamicArray -> Observable.fromIterable(dynamicArray.getValue()))
-                .filter(address -> Utils.isValidAddress(address.toString()))
-                .flatMap(RxSlotRooms::createSlotRoom)
-                .filter(slotRoom -> !AccountProvider.identical(slotRoom.getBankerAddress()))
-                .subscribe(RxSlotRooms::addSlot, Throwable::printStackTrace));
+                // pages load in parallel but are listed in array order
+                .concatMapEager(page -> slotMachineStorage
+                        .getSlotMachinesArray(new Uint256(page[0]), new Uint256(page[1]))
+                        .flatMap(dynamicArray -> {
+                            for (Address address : dynamicArray.getValue()) {
+                                seen.add(address.toString());
+                            }
+                            return createSlotRooms(dynamicArray.getValue());
+                        })
+                        .filter(slotRoom -> !AccountProvider.identical(slotRoom.getBankerAddress()))
+                        .toList()
+                        .toObservable(), PAGE_CONCURRENCY, 1)
+                .doOnNext(RxSlotRooms::addSlots)
+                .ignoreElements()
+                .doOnComplete(() -> retainSlots(seen))
+                .toSingle(() -> total[0]);
     }
 
     public static void updateMakeSlotMachines() {
         clearMakeSlot();
         slotMachineStorageLoaded.subscribe(() -> slotMachineStorage
                 .getSlotMachines(new Address(AccountProvider.getAccount().getAddressHex()))
-                .flatMap(dynamicArray -> Observable.fromIterable(dynamicArray.getValue()))
-                .filter(address -> Utils.isValidAddress(address.toString()))
-                .flatMap(RxSlotRooms::createSlotRoom)
+                .flatMap(dynamicArray -> createSlotRooms(dynamicArray.getValue()))
                 .subscribe(RxSlotRooms::addMakeSlot, Throwable::printStackTrace));
     }
 
-    private static Observable<SlotRoom> createSlotRoom(Address address) {
-        String slotAddress = address.toString();
-        SlotMachine machine = SlotMachine.load(slotAddress);
-
-        return machine
-                .getInfo()
-                .map(response -> {
-                    SlotRoom slotRoom = new SlotRoom(
-                            slotAddress,
-                            Utils.byteToString(response.mName.getValue()),
-                            response.mDecider.getValue().intValue() / 1000.0,
-                            response.mMaxPrize.getValue().intValue(),
-                            Convert.fromWei(response.mMinBet.getValue(), Convert.Unit.ETHER).doubleValue(),
-                            Convert.fromWei(response.mMaxBet.getValue(), Convert.Unit.ETHER).doubleValue(),
-                            response.owner.toString(),
-                            response.bankerBalance.getValue()
-                    );
-                    slotRoom.setPlayerAddress(response.mPlayer.toString());
-                    return slotRoom;
-                });
+    private static Observable<SlotRoom> createSlotRooms(List<Address> addresses) {
+        List<String> slotAddresses = new ArrayList<>();
+        for (Address address : addresses) {
+            slotAddresses.add(address.toString());
+        }
+        return fetchSlotRooms(slotAddresses);
     }
 
-    public static void addSlot(SlotRoom slotRoom) {
-        if (rxSlotRoomMap.containsKey(slotRoom.getAddress())) {
-            return;
+    static Observable<SlotRoom> fetchSlotRooms(List<String> addresses) {
+        List<String> slotAddresses = new ArrayList<>();
+        for (String address : addresses) {
+            if (Utils.isValidAddress(address)) {
+                slotAddresses.add(address);
+            }
         }
-        RxSlotRoom rxSlotRoom = new RxSlotRoom(slotRoom);
-        rxSlotRoomMap.put(slotRoom.getAddress(), rxSlotRoom);
-        notifyChange();
+        return SlotMachine
+                .getInfo(slotAddresses)
+                .map(RxSlotRooms::toSlotRoom);
     }
 
+    private static SlotRoom toSlotRoom(SlotMachine.GetInfoResponse response) {
+        SlotRoom slotRoom = new SlotRoom(
+                response.address,
+                Utils.byteToString(response.mName.getValue()),
+                response.mDecider.getValue().intValue() / 1000.0,
+                response.mMaxPrize.getValue().intValue(),
+                Convert.fromWei(response.mMinBet.getValue(), Convert.Unit.ETHER).doubleValue(),
+                Convert.fromWei(response.mMaxBet.getValue(), Convert.Unit.ETHER).doubleValue(),
+                response.owner.toString(),
+                response.bankerBalance.getValue()
+        );
+        slotRoom.setPlayerAddress(response.mPlayer.toString());
+        return slotRoom;
+    }
+
+    public static void addSlot(SlotRoom slotRoom) {
+        addSlots(Collections.singletonList(slotRoom));
+    }
+
+    // adds new rooms and refreshes known ones, one diff for the whole list
     public static void addSlots(List<SlotRoom> slotRoomList) {
-        for (SlotRoom slotRoom : slotRoomList) {
-            if (rxSlotRoomMap.containsKey(slotRoom.getAddress())) {
-                continue;
-            }
-            RxSlotRoom rxSlotRoom = new RxSlotRoom(slotRoom);
-            rxSlotRoomMap.put(slotRoom.getAddress(), rxSlotRoom);
-        }
-        notifyChange();
+        playSlotRooms.putAll(slotRoomList);
     }
 
-    private static void notifyChange() {
-        rxSlotRoomMapSubject.onNext(rxSlotRoomMap);
+    public static void removeSlot(String address) {
+        playSlotRooms.remove(address);
     }
 
-    public static void addMakeSlot(SlotRoom slotRoom) {
-        if (rxMakeSlotRoomMap.containsKey(slotRoom.getAddress())) {
+    // applies a partial update from an event to a listed room
+    public static void updateSlot(String address, Consumer<SlotRoom> update) {
+        RxSlotRoom rxSlotRoom = playSlotRooms.get(address);
+        if (rxSlotRoom == null) {
+            return;
+        }
+        try {
+            update.accept(rxSlotRoom.getSlotRoom());
+        } catch (Exception e) {
+            Log.e(TAG, "fail to update slot " + address + " : " + e.getMessage());
             return;
         }
-        RxSlotRoom rxSlotRoom = new RxSlotRoom(slotRoom);
-        rxMakeSlotRoomMap.put(slotRoom.getAddress(), rxSlotRoom);
-        notifyMakeSlotChange();
+        rxSlotRoom.updateSlotRoom(rxSlotRoom.getSlotRoom());
+        playSlotRooms.changed(address);
     }
 
-    public static void addMakeSlots(List<SlotRoom> slotRoomList) {
-        for (SlotRoom slotRoom : slotRoomList) {
-            if (rxMakeSlotRoomMap.containsKey(slotRoom.getAddress())) {
-                continue;
-            }
-            RxSlotRoom rxSlotRoom = new RxSlotRoom(slotRoom);
-            rxMakeSlotRoomMap.put(slotRoom.getAddress(), rxSlotRoom);
-        }
-        notifyMakeSlotChange();
+    private static void retainSlots(Set<String> addresses) {
+        playSlotRooms.retain(addresses);
     }
 
-    public static void removeMakeSlot(String address) {
-        RxSlotRoom makeSlot = rxMakeSlotRoomMap.get(address);
-        makeSlot.removeBankerEvent();
-        rxMakeSlotRoomMap.remove(address);
-        notifyMakeSlotChange();
+    public static void addMakeSlot(SlotRoom slotRoom) {
+        addMakeSlots(Collections.singletonList(slotRoom));
+    }
+
+    public static void addMakeSlots(List<SlotRoom> slotRoomList) {
+        makeSlotRooms.putAllAbsent(slotRoomList);
     }
 
-    private static void notifyMakeSlotChange() {
-        rxMakeSlotRoomMapSubject.onNext(rxMakeSlotRoomMap);
+    public static void removeMakeSlot(String address) {
+        RxSlotRoom makeSlot = makeSlotRooms.remove(address);
+        if (makeSlot != null) {
+            makeSlot.removeBankerEvent();
+        }
     }
 }
@@ -0,0 +1,134 @@
+package com.slotnslot.slotnslot.provider;
+
+import com.slotnslot.slotnslot.models.SlotRoom;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.reactivex.Observable;
+import io.reactivex.subjects.BehaviorSubject;
+import io.reactivex.subjects.PublishSubject;
+
+// rooms by address, safe to mutate from any scheduler.
+// subscribers only ever see immutable snapshots and diffs, never the live map. a mutation and its emission
+// happen under one lock, so diffs arrive in the order the map changed.
+// every mutation emits, like the map subject did, an empty diff included.
+public class SlotRoomRegistry {
+    private final Map<String, RxSlotRoom> rooms = new ConcurrentHashMap<>();
+    private final BehaviorSubject<Map<String, RxSlotRoom>> snapshots = BehaviorSubject.create();
+    private final PublishSubject<SlotRoomsDiff> diffs = PublishSubject.create();
+
+    public RxSlotRoom get(String address) {
+        return rooms.get(address);
+    }
+
+    public boolean contains(String address) {
+        return rooms.containsKey(address);
+    }
+
+    public int size() {
+        return rooms.size();
+    }
+
+    // copy of the addresses at the time of the call
+    public List<String> addresses() {
+        return new ArrayList<>(rooms.keySet());
+    }
+
+    public Map<String, RxSlotRoom> snapshot() {
+        Map<String, RxSlotRoom> snapshot = snapshots.getValue();
+        return snapshot == null ? Collections.emptyMap() : snapshot;
+    }
+
+    public Observable<Map<String, RxSlotRoom>> snapshots() {
+        return snapshots;
+    }
+
+    public Observable<SlotRoomsDiff> diffs() {
+        return diffs;
+    }
+
+    // adds new rooms and refreshes known ones, one diff for the whole list
+    public synchronized void putAll(Collection<SlotRoom> slotRooms) {
+        List<String> added = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        for (SlotRoom slotRoom : slotRooms) {
+            String address = slotRoom.getAddress();
+            RxSlotRoom existing = rooms.get(address);
+            if (existing == null) {
+                existing = rooms.putIfAbsent(address, new RxSlotRoom(slotRoom));
+                if (existing == null) {
+                    added.add(address);
+                    continue;
+                }
+            }
+            existing.updateSlotRoom(slotRoom);
+            changed.add(address);
+        }
+        publish(SlotRoomsDiff.of(added, Collections.emptyList(), changed));
+    }
+
+    // adds only rooms not known yet
+    public synchronized void putAllAbsent(Collection<SlotRoom> slotRooms) {
+        List<String> added = new ArrayList<>();
+        for (SlotRoom slotRoom : slotRooms) {
+            if (rooms.putIfAbsent(slotRoom.getAddress(), new RxSlotRoom(slotRoom)) == null) {
+                added.add(slotRoom.getAddress());
+            }
+        }
+        publish(SlotRoomsDiff.of(added, Collections.emptyList(), Collections.emptyList()));
+    }
+
+    public synchronized RxSlotRoom remove(String address) {
+        RxSlotRoom removed = rooms.remove(address);
+        if (removed != null) {
+            publish(SlotRoomsDiff.of(Collections.emptyList(), Collections.singletonList(address), Collections.emptyList()));
+        }
+        return removed;
+    }
+
+    // removes every room whose address is not in addresses
+    public synchronized List<RxSlotRoom> retain(Set<String> addresses) {
+        List<String> removedAddresses = new ArrayList<>();
+        List<RxSlotRoom> removed = new ArrayList<>();
+        for (Map.Entry<String, RxSlotRoom> entry : rooms.entrySet()) {
+            if (!addresses.contains(entry.getKey()) && rooms.remove(entry.getKey(), entry.getValue())) {
+                removedAddresses.add(entry.getKey());
+                removed.add(entry.getValue());
+            }
+        }
+        publish(SlotRoomsDiff.of(Collections.emptyList(), removedAddresses, Collections.emptyList()));
+        return removed;
+    }
+
+    // the room was changed in place
+    public synchronized void changed(String address) {
+        if (rooms.containsKey(address)) {
+            publish(SlotRoomsDiff.of(Collections.emptyList(), Collections.emptyList(), Collections.singletonList(address)));
+        }
+    }
+
+    public synchronized List<RxSlotRoom> clear() {
+        List<RxSlotRoom> removed = new ArrayList<>();
+        for (String address : addresses()) {
+            RxSlotRoom rxSlotRoom = rooms.remove(address);
+            if (rxSlotRoom != null) {
+                removed.add(rxSlotRoom);
+            }
+        }
+        publish(SlotRoomsDiff.reset(Collections.emptyList()));
+        return removed;
+    }
+
+    // only called holding the lock of the mutation it reports
+    private void publish(SlotRoomsDiff diff) {
+        snapshots.onNext(Collections.unmodifiableMap(new LinkedHashMap<>(rooms)));
+        diffs.onNext(diff);
+    }
+}
@@ -0,0 +1,76 @@
+package com.slotnslot.slotnslot.provider;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import lombok.Getter;
+
+// slot addresses added, removed and changed since the previous diff.
+// a reset diff replaces everything, its added set is the whole lobby.
+@Getter
+public class SlotRoomsDiff {
+    private final boolean reset;
+    private final Set<String> added;
+    private final Set<String> removed;
+    private final Set<String> changed;
+
+    private SlotRoomsDiff(boolean reset, Set<String> added, Set<String> removed, Set<String> changed) {
+        this.reset = reset;
+        this.added = Collections.unmodifiableSet(added);
+        this.removed = Collections.unmodifiableSet(removed);
+        this.changed = Collections.unmodifiableSet(changed);
+    }
+
+    public static SlotRoomsDiff reset(Collection<String> addresses) {
+        return new SlotRoomsDiff(true, new LinkedHashSet<>(addresses), Collections.emptySet(), Collections.emptySet());
+    }
+
+    public static SlotRoomsDiff of(Collection<String> added, Collection<String> removed, Collection<String> changed) {
+        return new SlotRoomsDiff(false, new LinkedHashSet<>(added), new LinkedHashSet<>(removed), new LinkedHashSet<>(changed));
+    }
+
+    public boolean isEmpty() {
+        return !reset && added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    // folds consecutive diffs into one, later diffs win
+    public static SlotRoomsDiff merge(List<SlotRoomsDiff> diffs) {
+        boolean reset = false;
+        Set<String> added = new LinkedHashSet<>();
+        Set<String> removed = new LinkedHashSet<>();
+        Set<String> changed = new LinkedHashSet<>();
+        for (SlotRoomsDiff diff : diffs) {
+            if (diff.reset) {
+                reset = true;
+                added.clear();
+                removed.clear();
+                changed.clear();
+            }
+            for (String address : diff.removed) {
+                added.remove(address);
+                changed.remove(address);
+                removed.add(address);
+            }
+            for (String address : diff.added) {
+                if (removed.remove(address)) {
+                    // removed and added back, the listed room may be stale
+                    changed.add(address);
+                }
+                added.add(address);
+            }
+            for (String address : diff.changed) {
+                if (!added.contains(address)) {
+                    changed.add(address);
+                }
+            }
+        }
+        if (reset) {
+            // a reset lists every room in added, nothing else applies
+            return new SlotRoomsDiff(true, added, Collections.emptySet(), Collections.emptySet());
+        }
+        return new SlotRoomsDiff(false, added, removed, changed);
+    }
+}
@@ -0,0 +1,133 @@
+package com.slotnslot.slotnslot.simulation;
+
+import com.slotnslot.slotnslot.utils.Constants;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// per line odds of a slot configuration. a line hits with the hit ratio and pays one of the
+// LINE_CASE_2000_VALUE multipliers picked by weight, a spin pays the sum of its lines up to max prize.
+public class PayTable {
+    private final double hitRatio;
+    private final int maxPrize;
+    private final int[] values;
+    private final double[] cumulative;
+
+    private PayTable(Builder builder) {
+        this.hitRatio = builder.hitRatio;
+        this.maxPrize = builder.maxPrize;
+
+        int count = 0;
+        for (int i = 0; i < Constants.LINE_CASE_2000_VALUE.length; i++) {
+            if (builder.weights[i] > 0 && Constants.LINE_CASE_2000_VALUE[i] <= maxPrize) {
+                count++;
+            }
+        }
+        this.values = new int[count];
+        this.cumulative = new double[count];
+        double total = 0;
+        int index = 0;
+        for (int i = 0; i < Constants.LINE_CASE_2000_VALUE.length; i++) {
+            if (builder.weights[i] > 0 && Constants.LINE_CASE_2000_VALUE[i] <= maxPrize) {
+                total += builder.weights[i];
+                values[index] = Constants.LINE_CASE_2000_VALUE[i];
+                cumulative[index] = total;
+                index++;
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    public double getHitRatio() {
+        return hitRatio;
+    }
+
+    public int getMaxPrize() {
+        return maxPrize;
+    }
+
+    // multiplier of the per line bet
+    public int spin(int lines, Random random) {
+        int result = 0;
+        for (int i = 0; i < lines; i++) {
+            if (random.nextDouble() >= hitRatio) {
+                continue;
+            }
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            if (index < 0) {
+                index = ~index;
+            }
+            result += values[Math.min(index, values.length - 1)];
+        }
+        return Math.min(result, maxPrize);
+    }
+
+    // expected multiplier of one line, before the max prize cap
+    public double getLineExpectation() {
+        double expectation = 0;
+        double previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            expectation += (cumulative[i] - previous) * values[i];
+            previous = cumulative[i];
+        }
+        return expectation * hitRatio;
+    }
+
+    @Override
+    public String toString() {
+        return "PayTable{hitRatio=" + hitRatio + ", maxPrize=" + maxPrize + ", values=" + Arrays.toString(values) + "}";
+    }
+
+    public static class Builder {
+        private double hitRatio = -1;
+        private int maxPrize = Constants.LINE_CASE_2000_VALUE[0];
+        private final double[] weights = new double[Constants.LINE_CASE_2000_VALUE.length];
+
+        public Builder hitRatio(double hitRatio) {
+            this.hitRatio = hitRatio;
+            return this;
+        }
+
+        // the contract's mDecider, hit ratio in thousandths
+        public Builder decider(int decider) {
+            return hitRatio(decider / 1000.0);
+        }
+
+        public Builder maxPrize(int maxPrize) {
+            this.maxPrize = maxPrize;
+            return this;
+        }
+
+        public Builder weight(int value, double weight) {
+            for (int i = 0; i < Constants.LINE_CASE_2000_VALUE.length; i++) {
+                if (Constants.LINE_CASE_2000_VALUE[i] == value) {
+                    weights[i] = weight;
+                    return this;
+                }
+            }
+            throw new IllegalArgumentException("not a pay line value : " + value);
+        }
+
+        public PayTable build() {
+            if (hitRatio < 0 || hitRatio > 1) {
+                throw new IllegalArgumentException("hit ratio must be in [0, 1] : " + hitRatio);
+            }
+            if (maxPrize <= 0) {
+                throw new IllegalArgumentException("max prize must be positive : " + maxPrize);
+            }
+            boolean payable = false;
+            for (int i = 0; i < weights.length; i++) {
+                if (weights[i] < 0) {
+                    throw new IllegalArgumentException("negative weight for " + Constants.LINE_CASE_2000_VALUE[i]);
+                }
+                payable |= weights[i] > 0 && Constants.LINE_CASE_2000_VALUE[i] <= maxPrize;
+            }
+            if (!payable) {
+                throw new IllegalArgumentException("no pay line value up to max prize " + maxPrize);
+            }
+            return new PayTable(this);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.slotnslot.slotnslot.simulation;
+
+import com.slotnslot.slotnslot.geth.PayLineSolver;
+import com.slotnslot.slotnslot.models.SlotResultDrawingLine;
+
+import lombok.Getter;
+
+// totals of a simulation, multipliers are in units of the per line bet
+public class SimulationResult {
+    @Getter
+    private final int lines;
+    @Getter
+    private long sessions;
+    @Getter
+    private long ruinedSessions;
+    @Getter
+    private long spins;
+    @Getter
+    private long hits;
+    @Getter
+    private long totalPaid;
+    private double totalPaidSquared;
+    // payouts[m] is the number of spins that paid m times the per line bet
+    private final long[] payouts;
+
+    SimulationResult(int lines, int maxPrize) {
+        this.lines = lines;
+        this.payouts = new long[maxPrize + 1];
+    }
+
+    void record(int multiplier) {
+        spins++;
+        payouts[multiplier]++;
+        if (multiplier > 0) {
+            hits++;
+            totalPaid += multiplier;
+            totalPaidSquared += (double) multiplier * multiplier;
+        }
+    }
+
+    void endSession(boolean ruined) {
+        sessions++;
+        if (ruined) {
+            ruinedSessions++;
+        }
+    }
+
+    SimulationResult merge(SimulationResult other) {
+        sessions += other.sessions;
+        ruinedSessions += other.ruinedSessions;
+        spins += other.spins;
+        hits += other.hits;
+        totalPaid += other.totalPaid;
+        totalPaidSquared += other.totalPaidSquared;
+        for (int i = 0; i < payouts.length; i++) {
+            payouts[i] += other.payouts[i];
+        }
+        return this;
+    }
+
+    public long getPayoutCount(int multiplier) {
+        return multiplier < payouts.length ? payouts[multiplier] : 0;
+    }
+
+    // paid / bet, the player's expected return per unit staked
+    public double getRtp() {
+        return spins == 0 ? 0 : (double) totalPaid / ((double) spins * lines);
+    }
+
+    public double getHitFrequency() {
+        return spins == 0 ? 0 : (double) hits / spins;
+    }
+
+    // standard deviation of one spin's return relative to its total bet
+    public double getVolatility() {
+        if (spins == 0) {
+            return 0;
+        }
+        double mean = (double) totalPaid / spins;
+        double variance = totalPaidSquared / spins - mean * mean;
+        return Math.sqrt(Math.max(variance, 0)) / lines;
+    }
+
+    public double getRuinProbability() {
+        return sessions == 0 ? 0 : (double) ruinedSessions / sessions;
+    }
+
+    // share of spins the reels can not show line by line and fall back to the big win screen
+    public double getBigWinFrequency() {
+        if (spins == 0) {
+            return 0;
+        }
+        long bigWins = 0;
+        for (int multiplier = 1; multiplier < payouts.length; multiplier++) {
+            if (payouts[multiplier] > 0
+                    && PayLineSolver.getDrawLine(lines, multiplier).drawable != SlotResultDrawingLine.Drawable.DRAWABLE) {
+                bigWins += payouts[multiplier];
+            }
+        }
+        return (double) bigWins / spins;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("spins : %d, rtp : %.4f, hit frequency : %.4f, volatility : %.3f, ruin : %.4f",
+                spins, getRtp(), getHitFrequency(), getVolatility(), getRuinProbability());
+    }
+}
@@ -0,0 +1,157 @@
+package com.slotnslot.slotnslot.simulation;
+
+import com.slotnslot.slotnslot.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// plays sessions of spins against a pay table without a node.
+// a session starts with the banker's bankroll and is ruined once it can not cover a max prize.
+// every session has its own seeded random, so a result does not depend on how the work was split.
+public class SlotSimulator {
+    private static final long SEED_MIX = 0x9E3779B97F4A7C15L;
+
+    private PayTable payTable;
+    private int lines = Constants.BET_MAX_LINE;
+    private long sessions = 1000;
+    private int spinsPerSession = 1000;
+    private long bankroll = -1; // in per line bets, max prize x 10 when unset
+    private long seed = 0;
+    private long sessionsPerTask = 64;
+
+    private SlotSimulator() {
+    }
+
+    public PayTable getPayTable() {
+        return payTable;
+    }
+
+    public SimulationResult run() {
+        return simulate(0, sessions);
+    }
+
+    public SimulationResult runParallel() {
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            return runParallel(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public SimulationResult runParallel(ForkJoinPool pool) {
+        return pool.invoke(new SessionTask(0, sessions));
+    }
+
+    // every configuration of the sweep shares one pool
+    public static List<SimulationResult> sweep(List<SlotSimulator> simulators) {
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<SimulationResult> results = new ArrayList<>(simulators.size());
+            for (SlotSimulator simulator : simulators) {
+                results.add(simulator.runParallel(pool));
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private SimulationResult simulate(long from, long to) {
+        int maxPrize = payTable.getMaxPrize();
+        long startBalance = bankroll >= 0 ? bankroll : (long) maxPrize * 10;
+        SimulationResult result = new SimulationResult(lines, maxPrize);
+        for (long session = from; session < to; session++) {
+            Random random = new Random(seed + session * SEED_MIX);
+            long balance = startBalance;
+            boolean ruined = false;
+            for (int spin = 0; spin < spinsPerSession; spin++) {
+                if (balance < maxPrize) {
+                    ruined = true;
+                    break;
+                }
+                int multiplier = payTable.spin(lines, random);
+                balance += lines - multiplier;
+                result.record(multiplier);
+            }
+            result.endSession(ruined);
+        }
+        return result;
+    }
+
+    private class SessionTask extends RecursiveTask<SimulationResult> {
+        private final long from;
+        private final long to;
+
+        SessionTask(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= sessionsPerTask) {
+                return simulate(from, to);
+            }
+            long middle = (from + to) >>> 1;
+            SessionTask left = new SessionTask(from, middle);
+            left.fork();
+            SimulationResult right = new SessionTask(middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    public static class Builder {
+        private SlotSimulator simulator;
+
+        public Builder(PayTable payTable) {
+            simulator = new SlotSimulator();
+            simulator.payTable = payTable;
+        }
+
+        public Builder lines(int lines) {
+            simulator.lines = lines;
+            return this;
+        }
+
+        public Builder sessions(long sessions) {
+            simulator.sessions = sessions;
+            return this;
+        }
+
+        public Builder spinsPerSession(int spinsPerSession) {
+            simulator.spinsPerSession = spinsPerSession;
+            return this;
+        }
+
+        // banker balance at the start of each session, in per line bets
+        public Builder bankroll(long bankroll) {
+            simulator.bankroll = bankroll;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            simulator.seed = seed;
+            return this;
+        }
+
+        // smallest unit of work handed to a fork/join worker
+        public Builder sessionsPerTask(long sessionsPerTask) {
+            simulator.sessionsPerTask = sessionsPerTask;
+            return this;
+        }
+
+        public SlotSimulator build() {
+            if (simulator.lines < Constants.BET_MIN_LINE || simulator.lines > Constants.BET_MAX_LINE) {
+                throw new IllegalArgumentException("lines must be in [" + Constants.BET_MIN_LINE + ", " + Constants.BET_MAX_LINE + "] : " + simulator.lines);
+            }
+            if (simulator.sessions <= 0 || simulator.spinsPerSession <= 0 || simulator.sessionsPerTask <= 0) {
+                throw new IllegalArgumentException("sessions, spins per session and sessions per task must be positive");
+            }
+            return simulator;
+        }
+    }
+}
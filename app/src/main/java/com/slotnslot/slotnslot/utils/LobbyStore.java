@@ -0,0 +1,110 @@
+package com.slotnslot.slotnslot.utils;
+
+import android.util.Log;
+
+import com.slotnslot.slotnslot.MainApplication;
+import com.slotnslot.slotnslot.models.SlotRoom;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// last known play lobby of a manager contract and the block it was read at,
+// shown on launch before the node has any peers. the lobby leaves out the account's own machines,
+// so a snapshot is only good for the account that saved it.
+public class LobbyStore {
+    private static final String TAG = LobbyStore.class.getSimpleName();
+
+    private static final String FILE_NAME = "lobby";
+    private static final int VERSION = 2;
+
+    private LobbyStore() {
+    }
+
+    public static class Snapshot {
+        public final String manager;
+        public final String account;
+        public final long block;
+        public final int total;
+        public final List<SlotRoom> slotRooms;
+
+        public Snapshot(String manager, String account, long block, int total, List<SlotRoom> slotRooms) {
+            this.manager = manager;
+            this.account = account;
+            this.block = block;
+            this.total = total;
+            this.slotRooms = Collections.unmodifiableList(slotRooms);
+        }
+    }
+
+    // written to a temp file and renamed, a crash leaves the previous snapshot intact
+    public static synchronized void save(Snapshot snapshot) {
+        File file = getFile();
+        File tmp = new File(file.getPath() + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(tmp)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut));
+            out.writeInt(VERSION);
+            out.writeUTF(snapshot.manager);
+            out.writeUTF(snapshot.account);
+            out.writeLong(snapshot.block);
+            out.writeInt(snapshot.total);
+            out.writeInt(snapshot.slotRooms.size());
+            for (SlotRoom slotRoom : snapshot.slotRooms) {
+                slotRoom.writeTo(out);
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        } catch (IOException e) {
+            Log.e(TAG, "fail to save lobby : " + e.getMessage());
+            return;
+        }
+        if (!tmp.renameTo(file)) {
+            Log.e(TAG, "fail to rename " + tmp.getName());
+        }
+    }
+
+    // null when there is no usable snapshot
+    public static synchronized Snapshot load() {
+        File file = getFile();
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != VERSION) {
+                return null;
+            }
+            String manager = in.readUTF();
+            String account = in.readUTF();
+            long block = in.readLong();
+            int total = in.readInt();
+            int size = in.readInt();
+            List<SlotRoom> slotRooms = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                slotRooms.add(SlotRoom.readFrom(in));
+            }
+            return new Snapshot(manager, account, block, total, slotRooms);
+        } catch (IOException e) {
+            Log.e(TAG, "fail to load lobby : " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static synchronized void delete() {
+        File file = getFile();
+        if (file.exists() && !file.delete()) {
+            Log.e(TAG, "fail to delete " + file.getName());
+        }
+    }
+
+    private static File getFile() {
+        return new File(MainApplication.getContext().getFilesDir(), FILE_NAME);
+    }
+}
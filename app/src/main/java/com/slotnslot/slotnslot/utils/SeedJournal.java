@@ -0,0 +1,319 @@
+package com.slotnslot.slotnslot.utils;
+
+import android.util.Log;
+
+import com.slotnslot.slotnslot.MainApplication;
+import com.slotnslot.slotnslot.models.Seed;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+import io.reactivex.Completable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.CompletableSubject;
+
+// append-only binary log of seed state per slot.
+// frame : type(1) length(4) payload(length) crc32(4) over type and payload.
+// a snapshot frame carries the whole seed, a confirm frame only the entry one game changed.
+// a confirm completes once its record is fsynced, confirms queued behind each other share one fsync.
+public class SeedJournal {
+    private static final String TAG = SeedJournal.class.getSimpleName();
+
+    private static final String DIRECTORY = "seeds";
+    private static final byte SNAPSHOT = 1;
+    private static final byte CONFIRM = 2;
+    private static final int HEADER_SIZE = 5;
+    private static final int CRC_SIZE = 4;
+    private static final int COMPACT_THRESHOLD = 256; // records
+
+    // every write, fsync and compaction of every journal runs here, in the order the records were made
+    private static final Scheduler diskScheduler = Schedulers.from(Executors.newSingleThreadExecutor());
+    private static final Map<String, SeedJournal> journals = new ConcurrentHashMap<>();
+
+    private final File file;
+    // confirms made since the last snapshot, on the caller's side
+    private final AtomicInteger confirms = new AtomicInteger();
+
+    // disk thread, and load before anything is written
+    private FileOutputStream out;
+    private boolean syncScheduled;
+    // confirms written but not fsynced yet
+    private final List<CompletableSubject> unsynced = new ArrayList<>();
+
+    private SeedJournal(File file) {
+        this.file = file;
+    }
+
+    public static SeedJournal of(String identifier, String slotAddress) {
+        String name = identifier + "_" + slotAddress.toLowerCase();
+        SeedJournal journal = journals.get(name);
+        if (journal == null) {
+            File directory = new File(MainApplication.getContext().getFilesDir(), DIRECTORY);
+            if (!directory.exists() && !directory.mkdirs()) {
+                Log.e(TAG, "fail to create " + directory);
+            }
+            journal = new SeedJournal(new File(directory, name));
+            SeedJournal previous = journals.putIfAbsent(name, journal);
+            if (previous != null) {
+                journal = previous;
+            }
+        }
+        return journal;
+    }
+
+    // replays the journal into seed, false when there was nothing to replay
+    public synchronized boolean load(Seed seed) {
+        if (!file.exists()) {
+            return false;
+        }
+        boolean loaded = false;
+        try {
+            byte[] bytes = readFully(file);
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            long valid = 0;
+            int count = 0;
+            while (buffer.remaining() >= HEADER_SIZE + CRC_SIZE) {
+                int start = buffer.position();
+                byte type = buffer.get();
+                int length = buffer.getInt();
+                if (length < 0 || buffer.remaining() < length + CRC_SIZE) {
+                    break;
+                }
+                int payloadOffset = buffer.position();
+                buffer.position(payloadOffset + length);
+                if (buffer.getInt() != (int) crc(type, bytes, payloadOffset, length)) {
+                    break;
+                }
+
+                DataInput input = new DataInputStream(new ByteArrayInputStream(bytes, payloadOffset, length));
+                if (type == SNAPSHOT) {
+                    seed.readSnapshot(input);
+                    loaded = true;
+                } else if (type == CONFIRM && loaded) {
+                    seed.readConfirm(input);
+                } else {
+                    Log.e(TAG, "unexpected record " + type + " at " + start + " in " + file.getName());
+                    break;
+                }
+                valid = buffer.position();
+                count++;
+            }
+
+            if (valid < bytes.length) {
+                // torn write from a crash, drop the tail so new records append after the last good one
+                Log.e(TAG, "truncate " + file.getName() + " from " + bytes.length + " to " + valid + " bytes");
+                closeQuietly();
+                try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                    raf.setLength(valid);
+                }
+            }
+            // the first record is the snapshot
+            confirms.set(Math.max(0, count - 1));
+        } catch (IOException e) {
+            Log.e(TAG, "fail to load " + file.getName() + " : " + e.getMessage());
+        }
+        return loaded;
+    }
+
+    // the record is built here, written on the disk thread
+    public void snapshot(Seed seed) {
+        try {
+            byte[] payload = snapshotPayload(seed);
+            confirms.set(0);
+            diskScheduler.scheduleDirect(() -> write(null, payload, CompletableSubject.create()));
+        } catch (IOException e) {
+            Log.e(TAG, "fail to write snapshot to " + file.getName() + " : " + e.getMessage());
+        }
+    }
+
+    // completes once the confirm is on disk, a crash before that loses it
+    public Completable confirm(Seed seed, int idx) {
+        CompletableSubject durable = CompletableSubject.create();
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            seed.writeConfirm(new DataOutputStream(bytes), idx);
+            byte[] payload = bytes.toByteArray();
+            if (confirms.incrementAndGet() >= COMPACT_THRESHOLD) {
+                // the snapshot already holds this confirm
+                confirms.set(0);
+                byte[] snapshot = snapshotPayload(seed);
+                diskScheduler.scheduleDirect(() -> write(null, snapshot, durable));
+            } else {
+                diskScheduler.scheduleDirect(() -> write(payload, null, durable));
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "fail to write confirm to " + file.getName() + " : " + e.getMessage());
+            durable.onError(e);
+        }
+        return durable;
+    }
+
+    public void delete() {
+        diskScheduler.scheduleDirect(this::deleteFile);
+    }
+
+    // disk thread only. records are written in the order they were made, so a snapshot covers every record
+    // written before it and replaces the whole journal
+    private synchronized void write(byte[] confirm, byte[] snapshot, CompletableSubject durable) {
+        try {
+            if (snapshot != null) {
+                // fsynced before it replaces the journal, and it holds every confirm still waiting
+                compact(snapshot);
+                unsynced.add(durable);
+                completeUnsynced(null);
+            } else {
+                append(CONFIRM, confirm);
+                unsynced.add(durable);
+                scheduleSync();
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "fail to write " + file.getName() + " : " + e.getMessage());
+            durable.onError(e);
+        }
+    }
+
+    private synchronized void deleteFile() {
+        closeQuietly();
+        // nothing left to wait for
+        completeUnsynced(null);
+        if (file.exists() && !file.delete()) {
+            Log.e(TAG, "fail to delete " + file.getName());
+        }
+    }
+
+    private void append(byte type, byte[] payload) throws IOException {
+        if (out == null) {
+            out = new FileOutputStream(file, true);
+        }
+        // one write call per record
+        out.write(frame(type, payload));
+    }
+
+    // queued behind the writes already waiting, so one fsync covers all of them
+    private void scheduleSync() {
+        if (syncScheduled) {
+            return;
+        }
+        syncScheduled = true;
+        diskScheduler.scheduleDirect(this::sync);
+    }
+
+    private synchronized void sync() {
+        syncScheduled = false;
+        IOException error = null;
+        try {
+            if (out != null) {
+                out.getFD().sync();
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "fail to sync " + file.getName() + " : " + e.getMessage());
+            error = e;
+        }
+        completeUnsynced(error);
+    }
+
+    private void completeUnsynced(IOException error) {
+        for (CompletableSubject durable : unsynced) {
+            if (error == null) {
+                durable.onComplete();
+            } else {
+                durable.onError(error);
+            }
+        }
+        unsynced.clear();
+    }
+
+    private void compact(byte[] snapshot) throws IOException {
+        File tmp = new File(file.getPath() + ".tmp");
+        byte[] frame = frame(SNAPSHOT, snapshot);
+        try (FileOutputStream tmpOut = new FileOutputStream(tmp)) {
+            tmpOut.write(frame);
+            tmpOut.getFD().sync();
+        }
+        closeQuietly();
+        if (!tmp.renameTo(file)) {
+            if (tmp.exists() && !tmp.delete()) {
+                Log.e(TAG, "fail to delete " + tmp.getName());
+            }
+            throw new IOException("fail to rename " + tmp.getName());
+        }
+        out = new FileOutputStream(file, true);
+    }
+
+    private void closeQuietly() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException ignored) {
+        }
+        out = null;
+    }
+
+    private static byte[] snapshotPayload(Seed seed) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        seed.writeSnapshot(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static byte[] frame(byte type, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length + CRC_SIZE);
+        buffer.put(type);
+        buffer.putInt(payload.length);
+        buffer.put(payload);
+        buffer.putInt((int) crc(type, payload, 0, payload.length));
+        return buffer.array();
+    }
+
+    private static long crc(byte type, byte[] payload, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload, offset, length);
+        return crc.getValue();
+    }
+
+    private static byte[] readFully(File file) throws IOException {
+        return readRange(file, 0, file.length());
+    }
+
+    private static byte[] readRange(File file, long from, long to) throws IOException {
+        byte[] bytes = new byte[(int) (to - from)];
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(from);
+            raf.readFully(bytes);
+        }
+        return bytes;
+    }
+
+    /**
+     * nullable string helpers for seed records
+     **/
+    public static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
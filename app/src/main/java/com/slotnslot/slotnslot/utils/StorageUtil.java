@@ -7,18 +7,43 @@ import com.google.gson.Gson;
 import com.slotnslot.slotnslot.MainApplication;
 
 public class StorageUtil {
+    // where the json strings end up, shared preferences unless replaced
+    public interface Store {
+        void put(String identifier, String key, String value);
+
+        String get(String identifier, String key);
+    }
+
+    private static final Store PREFERENCES = new Store() {
+        @Override
+        public void put(String identifier, String key, String value) {
+            SharedPreferences pref = MainApplication.getContext().getSharedPreferences(identifier, Context.MODE_PRIVATE);
+            SharedPreferences.Editor editor = pref.edit();
+            editor.putString(key, value);
+            editor.apply();
+        }
+
+        @Override
+        public String get(String identifier, String key) {
+            SharedPreferences pref = MainApplication.getContext().getSharedPreferences(identifier, Context.MODE_PRIVATE);
+            return pref.getString(key, null);
+        }
+    };
+
+    private static final Gson gson = new Gson();
+    private static volatile Store store = PREFERENCES;
+
+    // null restores shared preferences
+    public static void setStore(Store store) {
+        StorageUtil.store = store == null ? PREFERENCES : store;
+    }
+
     public static void save(String identifier, String key, Object object) {
-        Gson gson = new Gson();
-        SharedPreferences pref = MainApplication.getContext().getSharedPreferences(identifier, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = pref.edit();
-        editor.putString(key, gson.toJson(object));
-        editor.apply();
+        store.put(identifier, key, gson.toJson(object));
     }
 
     public static <T> T load(String identifier, String key, Class<T> clazz) {
-        Gson gson = new Gson();
-        SharedPreferences pref = MainApplication.getContext().getSharedPreferences(identifier, Context.MODE_PRIVATE);
-        String json = pref.getString(key, null);
+        String json = store.get(identifier, key);
         return json == null ? null : gson.fromJson(json, clazz);
     }
 }
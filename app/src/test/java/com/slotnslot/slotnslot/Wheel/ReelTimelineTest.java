@@ -0,0 +1,141 @@
+package com.slotnslot.slotnslot.Wheel;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ReelTimelineTest {
+    private FakeTimer timer;
+    private ReelTimeline timeline;
+    private List<String> fired;
+
+    @Before
+    public void setUp() {
+        timer = new FakeTimer();
+        timeline = new ReelTimeline(timer);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    public void scheduleIsInTimeOrder() {
+        schedule(400, "stop 2");
+        schedule(0, "stop 0");
+        schedule(200, "stop 1");
+        schedule(200, "pay lines");
+
+        List<ReelTimeline.Event> schedule = timeline.getSchedule();
+        assertEquals(4, schedule.size());
+        assertEquals("stop 0", schedule.get(0).getName());
+        assertEquals("stop 1", schedule.get(1).getName());
+        assertEquals("pay lines", schedule.get(2).getName());
+        assertEquals("stop 2", schedule.get(3).getName());
+        assertEquals(400, schedule.get(3).getTime());
+    }
+
+    @Test
+    public void eventsFireWhenDue() {
+        schedule(0, "spin 0");
+        schedule(200, "spin 1");
+        schedule(400, "spin 2");
+
+        timer.advance(0);
+        assertEquals(1, fired.size());
+        timer.advance(399);
+        assertEquals(2, fired.size());
+        timer.advance(1);
+        assertEquals(3, fired.size());
+        assertTrue(timeline.isIdle());
+        assertEquals(0, timer.posted.size());
+    }
+
+    @Test
+    public void onlyOneTaskIsPosted() {
+        for (int i = 0; i < 5; i++) {
+            schedule(i * 200, "spin " + i);
+        }
+        assertEquals(1, timer.posted.size());
+    }
+
+    @Test
+    public void cancelDropsEverything() {
+        schedule(0, "spin 0");
+        schedule(200, "spin 1");
+
+        timeline.cancel();
+        timer.advance(1000);
+
+        assertEquals(0, fired.size());
+        assertTrue(timeline.getSchedule().isEmpty());
+        assertEquals(0, timer.posted.size());
+    }
+
+    @Test
+    public void fastForwardRunsEverythingInOrder() {
+        schedule(2000, "stop 1");
+        schedule(1800, "stop 0");
+        schedule(3850, "pay lines");
+
+        timeline.fastForward();
+
+        assertEquals(3, fired.size());
+        assertEquals("stop 0", fired.get(0));
+        assertEquals("pay lines", fired.get(2));
+        timer.advance(5000);
+        assertEquals(3, fired.size());
+    }
+
+    private void schedule(long delay, String name) {
+        timeline.schedule(delay, name, () -> fired.add(name));
+    }
+
+    private static class FakeTimer implements ReelTimeline.Timer {
+        private final List<Runnable> posted = new ArrayList<>();
+        private final List<Long> times = new ArrayList<>();
+        private long now;
+
+        @Override
+        public long now() {
+            return now;
+        }
+
+        @Override
+        public void post(Runnable task, long delayMillis) {
+            posted.add(task);
+            times.add(now + delayMillis);
+        }
+
+        @Override
+        public void remove(Runnable task) {
+            int i;
+            while ((i = posted.indexOf(task)) >= 0) {
+                posted.remove(i);
+                times.remove(i);
+            }
+        }
+
+        void advance(long millis) {
+            long until = now + millis;
+            while (true) {
+                int next = -1;
+                for (int i = 0; i < times.size(); i++) {
+                    if (times.get(i) <= until && (next < 0 || times.get(i) < times.get(next))) {
+                        next = i;
+                    }
+                }
+                if (next < 0) {
+                    break;
+                }
+                now = Math.max(now, times.get(next));
+                Runnable task = posted.remove(next);
+                times.remove(next);
+                task.run();
+            }
+            now = until;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.slotnslot.slotnslot.Wheel.adapters;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SymbolStripTest {
+    private static final int SYMBOLS = 8;
+    private static final int WIDTH = 196;
+    private static final int HEIGHT = 195;
+    private static final int BINDS = 1_000_000;
+
+    @Test
+    public void rowsShowResultSymbols() {
+        SymbolStrip strip = new SymbolStrip(SYMBOLS, WIDTH, HEIGHT);
+        strip.setRows(new int[]{7, 3, 5});
+
+        assertEquals(7, strip.getSymbol(0));
+        assertEquals(3, strip.getSymbol(1));
+        assertEquals(5, strip.getSymbol(2));
+        assertEquals(4, strip.getSymbol(4));
+
+        int[] rect = new int[4];
+        strip.getSourceRect(1, rect);
+        assertArrayEquals(new int[]{3 * WIDTH, 0, 4 * WIDTH, HEIGHT}, rect);
+    }
+
+    @Test
+    public void rowsAreCopied() {
+        SymbolStrip strip = new SymbolStrip(SYMBOLS, WIDTH, HEIGHT);
+        int[] rows = {1, 2, 3};
+        strip.setRows(rows);
+        rows[0] = 6;
+
+        assertEquals(1, strip.getSymbol(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownSymbol() {
+        new SymbolStrip(SYMBOLS, WIDTH, HEIGHT).setRows(new int[]{0, 1, SYMBOLS});
+    }
+
+    @Test
+    public void bindingDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        SymbolStrip strip = new SymbolStrip(SYMBOLS, WIDTH, HEIGHT);
+        strip.setRows(new int[]{2, 4, 6});
+        int[] rect = new int[4];
+        bind(strip, rect); // warm up so the measured run is compiled code
+
+        long threadId = Thread.currentThread().getId();
+        long overhead = allocatedDuring(threads, threadId, null, rect);
+        long allocated = allocatedDuring(threads, threadId, strip, rect);
+
+        // a single boxed int per bind would be several megabytes
+        assertTrue("binding allocated " + (allocated - overhead) + " bytes", allocated - overhead < 1024);
+    }
+
+    private static long allocatedDuring(com.sun.management.ThreadMXBean threads, long threadId, SymbolStrip strip, int[] rect) {
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long sum = strip == null ? 0 : bind(strip, rect);
+        long after = threads.getThreadAllocatedBytes(threadId);
+        assertTrue(sum >= 0);
+        return after - before;
+    }
+
+    private static long bind(SymbolStrip strip, int[] rect) {
+        long sum = 0;
+        for (int i = 0; i < BINDS; i++) {
+            int index = i % SYMBOLS;
+            strip.getSourceRect(index, rect);
+            sum += strip.getSymbol(index) + rect[0];
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,36 @@
+package com.slotnslot.slotnslot.geth;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LogDeduplicatorTest {
+    private static final String PENDING = "0x0000000000000000000000000000000000000000000000000000000000000000";
+    private static final String BLOCK_A = "0xaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa";
+    private static final String TX = "0x1111111111111111111111111111111111111111111111111111111111111111";
+    private static final String CONFIRMED = "0xconfirmed,0x02";
+    private static final String OCCUPIED = "0xoccupied,0x01";
+
+    private LogDeduplicator.Window window;
+
+    @Before
+    public void setUp() {
+        window = new LogDeduplicator.Window(1024, 64);
+    }
+
+    @Test
+    public void minedCopyOfPendingLogIsDropped() {
+        assertTrue(window.accept(TX, 0, CONFIRMED, PENDING, 0));
+        // the block holds other transactions, so the mined log sits at another index
+        assertFalse(window.accept(TX, 7, CONFIRMED, BLOCK_A, 100));
+        assertFalse(window.accept(TX, 7, CONFIRMED, BLOCK_A, 100));
+    }
+
+    @Test
+    public void logsOfOneTransactionAreKeptApart() {
+        assertTrue(window.accept(TX, 3, OCCUPIED, BLOCK_A, 100));
+        assertTrue(window.accept(TX, 4, CONFIRMED, BLOCK_A, 100));
+    }
+}
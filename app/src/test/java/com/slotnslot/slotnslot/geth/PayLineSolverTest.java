@@ -0,0 +1,84 @@
+package com.slotnslot.slotnslot.geth;
+
+import com.slotnslot.slotnslot.models.DrawingLine;
+import com.slotnslot.slotnslot.models.SlotResultDrawingLine;
+import com.slotnslot.slotnslot.utils.Constants;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PayLineSolverTest {
+    private static final int REELS = 5;
+    private static final int MIN_PAY_LENGTH = 3;
+
+    @Test
+    public void drawnLayoutsPayTheResult() {
+        int step = Constants.LINE_CASE_2000_VALUE[Constants.LINE_CASE_2000_VALUE.length - 1];
+        int drawable = 0;
+        for (int lineNum = 1; lineNum <= Constants.WIN_LINE.length; lineNum++) {
+            for (int slotResult = step; slotResult <= PayLineTable.MAX_RESULT; slotResult += step) {
+                if (PayLineTable.getPayLineTuples(slotResult) == null) {
+                    continue;
+                }
+                SlotResultDrawingLine result = PayLineSolver.getDrawLine(lineNum, slotResult);
+                if (result.drawable != SlotResultDrawingLine.Drawable.DRAWABLE) {
+                    continue;
+                }
+                assertLayout(lineNum, slotResult, result);
+                drawable++;
+            }
+        }
+        assertTrue(drawable > 0);
+    }
+
+    // the drawn lines sum to the result, and the grid pays exactly those lines on the bet lines
+    private static void assertLayout(int lineNum, int slotResult, SlotResultDrawingLine result) {
+        String message = "lineNum " + lineNum + ", result " + slotResult;
+
+        int drawnSum = 0;
+        Map<Integer, DrawingLine> drawn = new HashMap<>();
+        for (DrawingLine line : result.drawingLines) {
+            assertTrue(message, line.lineNum >= 0 && line.lineNum < lineNum);
+            assertEquals(message, null, drawn.put(line.lineNum, line));
+            drawnSum += value(line.symbol, line.length);
+        }
+        assertEquals(message, slotResult, drawnSum);
+
+        int gridSum = 0;
+        for (int line = 0; line < lineNum; line++) {
+            Integer[] winLine = Constants.WIN_LINE[line];
+            int symbol = result.slotLines[0][winLine[0]];
+            int length = 0;
+            while (length < REELS && symbol != Constants.UNDEFINE && result.slotLines[length][winLine[length]] == symbol) {
+                length++;
+            }
+            DrawingLine drawnLine = drawn.get(winLine[REELS]);
+            if (length < MIN_PAY_LENGTH) {
+                assertEquals(message + ", line " + line + " is drawn but does not pay", null, drawnLine);
+                continue;
+            }
+            assertNotEquals(message + ", line " + line + " pays but is not drawn", null, drawnLine);
+            assertEquals(message + ", line " + line, drawnLine.symbol, symbol);
+            assertEquals(message + ", line " + line, drawnLine.length, length);
+            gridSum += value(symbol, length);
+        }
+        assertEquals(message, slotResult, gridSum);
+    }
+
+    private static int value(int symbol, int length) {
+        for (int i = 0; i < Constants.LINE_CASE_2000.length; i++) {
+            for (int[] lineCase : Constants.LINE_CASE_2000[i]) {
+                if (lineCase[0] == symbol && lineCase[1] == length) {
+                    return Constants.LINE_CASE_2000_VALUE[i];
+                }
+            }
+        }
+        throw new AssertionError("no line case for symbol " + symbol + " x " + length);
+    }
+}
@@ -0,0 +1,62 @@
+package com.slotnslot.slotnslot.simulation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SlotSimulatorTest {
+    @Test
+    public void parallelRunMatchesSequentialRun() {
+        PayTable payTable = new PayTable.Builder()
+                .decider(150)
+                .maxPrize(500)
+                .weight(5, 40)
+                .weight(50, 5)
+                .weight(250, 1)
+                .build();
+        SlotSimulator simulator = new SlotSimulator.Builder(payTable)
+                .sessions(500)
+                .spinsPerSession(200)
+                .seed(42)
+                .sessionsPerTask(7)
+                .build();
+
+        SimulationResult sequential = simulator.run();
+        SimulationResult parallel = simulator.runParallel();
+
+        assertEquals(sequential.getSessions(), parallel.getSessions());
+        assertEquals(sequential.getRuinedSessions(), parallel.getRuinedSessions());
+        assertEquals(sequential.getSpins(), parallel.getSpins());
+        assertEquals(sequential.getHits(), parallel.getHits());
+        assertEquals(sequential.getTotalPaid(), parallel.getTotalPaid());
+        for (int multiplier = 0; multiplier <= payTable.getMaxPrize(); multiplier++) {
+            assertEquals(sequential.getPayoutCount(multiplier), parallel.getPayoutCount(multiplier));
+        }
+        assertEquals(sequential.getVolatility(), parallel.getVolatility(), 1e-9);
+    }
+
+    @Test
+    public void rtpConvergesToLineExpectation() {
+        // 20 lines of at most 25 never reach the max prize of 2000, so nothing is capped
+        PayTable payTable = new PayTable.Builder()
+                .hitRatio(0.05)
+                .weight(5, 3)
+                .weight(10, 2)
+                .weight(25, 1)
+                .build();
+        SlotSimulator simulator = new SlotSimulator.Builder(payTable)
+                .sessions(1000)
+                .spinsPerSession(1000)
+                .bankroll(1000000000L)
+                .seed(7)
+                .build();
+
+        SimulationResult result = simulator.runParallel();
+
+        assertEquals(0.5, payTable.getLineExpectation(), 1e-9);
+        assertEquals(0, result.getRuinedSessions());
+        assertEquals(1000000, result.getSpins());
+        // the standard error of the rtp is about 0.0006 here
+        assertEquals(payTable.getLineExpectation(), result.getRtp(), 0.005);
+    }
+}
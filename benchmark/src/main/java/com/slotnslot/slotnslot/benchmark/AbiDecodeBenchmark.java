@@ -0,0 +1,94 @@
+package com.slotnslot.slotnslot.benchmark;
+
+import com.slotnslot.slotnslot.geth.AbiDecoder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.web3j.abi.FunctionReturnDecoder;
+import org.web3j.abi.TypeReference;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.StaticArray;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Bytes32;
+import org.web3j.abi.datatypes.generated.Uint256;
+import org.web3j.abi.datatypes.generated.Uint8;
+import org.web3j.utils.Numeric;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// the decoding behind Utils.extractEventParameters. a geth Log needs the native library,
+// so the log data and topic are given as they come out of Log.getData() and Hash.getHex().
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AbiDecodeBenchmark {
+    private static final String WORD = "00000000000000000000000000000000";
+
+    // gameConfirmed(uint256 reward, uint8 idx, bytes32 randomSeed)
+    @SuppressWarnings("unchecked")
+    private static final List<TypeReference<Type>> GAME_CONFIRMED = Arrays.asList(
+            (TypeReference) new TypeReference<Uint256>() {
+            },
+            (TypeReference) new TypeReference<Uint8>() {
+            },
+            (TypeReference) new TypeReference<Bytes32>() {
+            });
+
+    // gameOccupied(address player, bytes32[3] playerSeed)
+    @SuppressWarnings("unchecked")
+    private static final List<TypeReference<Type>> GAME_OCCUPIED = Arrays.asList(
+            (TypeReference) new TypeReference<Address>() {
+            },
+            (TypeReference) new TypeReference.StaticArrayTypeReference<StaticArray<Bytes32>>(3) {
+            });
+
+    private static final TypeReference<Address> INDEXED_ADDRESS = new TypeReference<Address>() {
+    };
+
+    private static final String GAME_CONFIRMED_DATA = "0x"
+            + WORD + "000000000000000000038d7ea4c68000"
+            + WORD + "00000000000000000000000000000002"
+            + "5f16f4c7f149ac4f9510d9cf8cf384038ad348b3bcdc01915f95de12df9d1b02";
+    private static final String GAME_OCCUPIED_DATA = "0x"
+            + "000000000000000000000000a1b2c3d4e5f6a7b8c9d0e1f2a3b4c5d6e7f8a9b0"
+            + "290decd9548b62a8d60345a988386fc84ba6bc95484008f6362f93160ef3e563"
+            + "b10e2d527612073b26eecdfd717e6a320cf44b4afac2b0732d9fcbe2b7fa0cf6"
+            + "405787fa12a823e0f2b7631cc41b3ba8828b3321ca811111fa75cd3aa3bb5ace";
+    private static final String ADDRESS_TOPIC = "0x000000000000000000000000a1b2c3d4e5f6a7b8c9d0e1f2a3b4c5d6e7f8a9b0";
+
+    private final byte[] gameConfirmedBytes = Numeric.hexStringToByteArray(GAME_CONFIRMED_DATA);
+    private final byte[] gameOccupiedBytes = Numeric.hexStringToByteArray(GAME_OCCUPIED_DATA);
+
+    @Benchmark
+    public List<Type> gameConfirmed() {
+        return AbiDecoder.decode(gameConfirmedBytes, GAME_CONFIRMED);
+    }
+
+    @Benchmark
+    public List<Type> gameOccupied() {
+        return AbiDecoder.decode(gameOccupiedBytes, GAME_OCCUPIED);
+    }
+
+    // web3j's hex decoder, what AbiDecoder replaced
+    @Benchmark
+    public List<Type> gameConfirmedWeb3j() {
+        return FunctionReturnDecoder.decode(GAME_CONFIRMED_DATA, GAME_CONFIRMED);
+    }
+
+    @Benchmark
+    public Type indexedTopic() {
+        return FunctionReturnDecoder.decodeIndexedValue(ADDRESS_TOPIC, INDEXED_ADDRESS);
+    }
+}
@@ -0,0 +1,101 @@
+package com.slotnslot.slotnslot.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// compares two JMH json reports benchmark by benchmark.
+// args : baseline.json results.json [threshold], exits 1 when any score got worse by more than threshold.
+public class BaselineComparison {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage : BaselineComparison baseline.json results.json [threshold]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        if (!baselineFile.exists()) {
+            System.err.println("no baseline at " + baselineFile + ", run jmh and jmhBaseline first");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.1;
+
+        Map<String, JsonObject> baseline = read(baselineFile);
+        Map<String, JsonObject> results = read(new File(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonObject> entry : results.entrySet()) {
+            JsonObject before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.println(String.format("%-70s new", entry.getKey()));
+                continue;
+            }
+            double oldScore = score(before);
+            double newScore = score(entry.getValue());
+            // average time is better when lower, throughput when higher
+            boolean lowerIsBetter = !"thrpt".equals(entry.getValue().get("mode").getAsString());
+            double change = (newScore - oldScore) / oldScore;
+            double worse = lowerIsBetter ? change : -change;
+            boolean regressed = worse > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.println(String.format("%-70s %12.3f -> %12.3f %s %+7.1f%%%s",
+                    entry.getKey(), oldScore, newScore, unit(entry.getValue()), change * 100, regressed ? "  REGRESSION" : ""));
+        }
+        for (String key : baseline.keySet()) {
+            if (!results.containsKey(key)) {
+                System.out.println(String.format("%-70s missing", key));
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) slower than the baseline by more than " + threshold * 100 + "%");
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonObject> read(File file) throws IOException {
+        Map<String, JsonObject> benchmarks = new LinkedHashMap<>();
+        try (Reader reader = new FileReader(file)) {
+            JsonArray array = new JsonParser().parse(reader).getAsJsonArray();
+            for (JsonElement element : array) {
+                JsonObject benchmark = element.getAsJsonObject();
+                benchmarks.put(key(benchmark), benchmark);
+            }
+        }
+        return benchmarks;
+    }
+
+    // benchmark method plus its params, e.g. PayLineBenchmark.getDrawLine{lineNum=20, slotResult=50}
+    private static String key(JsonObject benchmark) {
+        String name = benchmark.get("benchmark").getAsString();
+        name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+        if (!benchmark.has("params")) {
+            return name;
+        }
+        StringBuilder builder = new StringBuilder(name).append('{');
+        boolean first = true;
+        for (Map.Entry<String, JsonElement> param : benchmark.getAsJsonObject("params").entrySet()) {
+            if (!first) builder.append(", ");
+            builder.append(param.getKey()).append('=').append(param.getValue().getAsString());
+            first = false;
+        }
+        return builder.append('}').toString();
+    }
+
+    private static double score(JsonObject benchmark) {
+        return benchmark.getAsJsonObject("primaryMetric").get("score").getAsDouble();
+    }
+
+    private static String unit(JsonObject benchmark) {
+        return benchmark.getAsJsonObject("primaryMetric").get("scoreUnit").getAsString();
+    }
+}
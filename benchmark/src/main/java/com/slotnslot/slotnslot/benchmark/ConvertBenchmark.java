@@ -0,0 +1,44 @@
+package com.slotnslot.slotnslot.benchmark;
+
+import com.slotnslot.slotnslot.utils.Convert;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+// bets and balances go through these on every spin and every balance update
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConvertBenchmark {
+    private final double betEth = 0.015;
+    private final BigInteger balanceWei = new BigInteger("1234567890123456789");
+
+    @Benchmark
+    public BigInteger toWei() {
+        return Convert.toWei(betEth, Convert.Unit.ETHER);
+    }
+
+    @Benchmark
+    public BigDecimal fromWei() {
+        return Convert.fromWei(balanceWei, Convert.Unit.ETHER);
+    }
+
+    @Benchmark
+    public double fromWeiToDouble() {
+        return Convert.fromWei(balanceWei, Convert.Unit.ETHER).doubleValue();
+    }
+}
@@ -0,0 +1,54 @@
+package com.slotnslot.slotnslot.benchmark;
+
+import com.slotnslot.slotnslot.geth.Utils;
+import com.slotnslot.slotnslot.models.HashChain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// seeds are sha3 chains, Utils.generateRandom re-hashes from the root, HashChain hashes once
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashChainBenchmark {
+    private static final String ROOT = "0x9b2d1cf6a0b5a1d4c4ff3fd6f5a6c53e1b3f0c2a7d8e9f0a1b2c3d4e5f6a7b8c";
+
+    @Param({"1", "50", "100"})
+    public int index;
+
+    private HashChain chain;
+
+    @Setup
+    public void setUp() {
+        chain = new HashChain(ROOT, 100);
+    }
+
+    @Benchmark
+    public byte[] generateRandom() {
+        return Utils.generateRandom(ROOT, index);
+    }
+
+    @Benchmark
+    public byte[] chainGet() {
+        return chain.get(index);
+    }
+
+    @Benchmark
+    public HashChain buildChain() {
+        return new HashChain(ROOT, index);
+    }
+}
@@ -0,0 +1,53 @@
+package com.slotnslot.slotnslot.benchmark;
+
+import com.slotnslot.slotnslot.geth.PayLineSolver;
+import com.slotnslot.slotnslot.geth.PayLineTable;
+import com.slotnslot.slotnslot.geth.Utils;
+import com.slotnslot.slotnslot.models.PayLineTuple;
+import com.slotnslot.slotnslot.models.SlotResultDrawingLine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// the layout drawn after every confirmed spin
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayLineBenchmark {
+    // a single line, two lines of one symbol, and a mix of symbols
+    @Param({"5", "50", "185"})
+    public int slotResult;
+
+    @Param({"1", "20"})
+    public int lineNum;
+
+    @Benchmark
+    public SlotResultDrawingLine getDrawLine() {
+        return Utils.getDrawLine(lineNum, slotResult);
+    }
+
+    // the first spin of a (lineNum, slotResult) pair, before the cache has it
+    @Benchmark
+    public SlotResultDrawingLine solveDrawLine() {
+        return PayLineSolver.solve(lineNum, slotResult);
+    }
+
+    @Benchmark
+    public List<PayLineTuple> getPayLineTuples() {
+        return PayLineTable.getPayLineTuples(slotResult);
+    }
+}
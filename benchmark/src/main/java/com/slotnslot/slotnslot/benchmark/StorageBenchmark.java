@@ -0,0 +1,68 @@
+package com.slotnslot.slotnslot.benchmark;
+
+import com.slotnslot.slotnslot.models.Seed;
+import com.slotnslot.slotnslot.utils.StorageUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// gson round trip of a seed through StorageUtil, shared preferences replaced by a map
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorageBenchmark {
+    private static final String IDENTIFIER = "benchmark";
+    private static final String KEY = "0xa1b2c3d4e5f6a7b8c9d0e1f2a3b4c5d6e7f8a9b0";
+
+    private Seed seed;
+
+    @Setup
+    public void setUp() {
+        Map<String, String> values = new HashMap<>();
+        StorageUtil.setStore(new StorageUtil.Store() {
+            @Override
+            public void put(String identifier, String key, String value) {
+                values.put(identifier + "/" + key, value);
+            }
+
+            @Override
+            public String get(String identifier, String key) {
+                return values.get(identifier + "/" + key);
+            }
+        });
+        seed = new Seed();
+        seed.getInitialSeed();
+        StorageUtil.save(IDENTIFIER, KEY, seed);
+    }
+
+    @TearDown
+    public void tearDown() {
+        StorageUtil.setStore(null);
+    }
+
+    @Benchmark
+    public void save() {
+        StorageUtil.save(IDENTIFIER, KEY, seed);
+    }
+
+    @Benchmark
+    public Seed load() {
+        return StorageUtil.load(IDENTIFIER, KEY, Seed.class);
+    }
+}